@@ -0,0 +1,34 @@
+package net.ericaro.neoitertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of bytes that can be read without boxing. Generators of Byte that store primitive values implement it too, so
+ * that primitive aware functions can skip the boxing.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/ByteSource">ByteSource's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface ByteSource {
+
+	/**
+	 * @return the next byte in the sequence.
+	 * @throws NoSuchElementException
+	 *             when sequence is exhausted.
+	 */
+	public byte nextByte() throws NoSuchElementException;
+
+	/**
+	 * Bulk read: copy the next bytes into buffer, at once.
+	 * 
+	 * @param buffer
+	 * @param offset
+	 *            first position to write in buffer
+	 * @param length
+	 *            maximum number of bytes to read
+	 * @return the number of bytes read, 0 only if the sequence is exhausted (or length is 0)
+	 */
+	public int drain(byte[] buffer, int offset, int length);
+
+}
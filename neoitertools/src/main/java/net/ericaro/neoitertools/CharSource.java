@@ -0,0 +1,34 @@
+package net.ericaro.neoitertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of chars that can be read without boxing. Generators of Character that store primitive values implement it too, so
+ * that primitive aware functions can skip the boxing.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/CharSource">CharSource's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface CharSource {
+
+	/**
+	 * @return the next char in the sequence.
+	 * @throws NoSuchElementException
+	 *             when sequence is exhausted.
+	 */
+	public char nextChar() throws NoSuchElementException;
+
+	/**
+	 * Bulk read: copy the next chars into buffer, at once.
+	 * 
+	 * @param buffer
+	 * @param offset
+	 *            first position to write in buffer
+	 * @param length
+	 *            maximum number of chars to read
+	 * @return the number of chars read, 0 only if the sequence is exhausted (or length is 0)
+	 */
+	public int drain(char[] buffer, int offset, int length);
+
+}
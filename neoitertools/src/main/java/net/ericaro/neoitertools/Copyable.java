@@ -0,0 +1,18 @@
+package net.ericaro.neoitertools;
+
+/**
+ * Optional capability of a {@link Generator} that can create an independent copy of itself, starting at its current
+ * position, without buffering its items. Functions that would otherwise buffer the items (like tee) check for it.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/Copyable">Copyable's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface Copyable<T> extends Generator<T> {
+
+	/**
+	 * @return a new generator, that returns the same items as this one from its current position, independently.
+	 */
+	public Copyable<T> copy();
+
+}
@@ -0,0 +1,34 @@
+package net.ericaro.neoitertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of doubles that can be read without boxing. Generators of Double that store primitive values implement it too, so
+ * that primitive aware functions can skip the boxing.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/DoubleSource">DoubleSource's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface DoubleSource {
+
+	/**
+	 * @return the next double in the sequence.
+	 * @throws NoSuchElementException
+	 *             when sequence is exhausted.
+	 */
+	public double nextDouble() throws NoSuchElementException;
+
+	/**
+	 * Bulk read: copy the next doubles into buffer, at once.
+	 * 
+	 * @param buffer
+	 * @param offset
+	 *            first position to write in buffer
+	 * @param length
+	 *            maximum number of doubles to read
+	 * @return the number of doubles read, 0 only if the sequence is exhausted (or length is 0)
+	 */
+	public int drain(double[] buffer, int offset, int length);
+
+}
@@ -0,0 +1,34 @@
+package net.ericaro.neoitertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of ints that can be read without boxing. Generators of Integer that store primitive values implement it too, so
+ * that primitive aware functions can skip the boxing.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/IntSource">IntSource's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface IntSource {
+
+	/**
+	 * @return the next int in the sequence.
+	 * @throws NoSuchElementException
+	 *             when sequence is exhausted.
+	 */
+	public int nextInt() throws NoSuchElementException;
+
+	/**
+	 * Bulk read: copy the next ints into buffer, at once.
+	 * 
+	 * @param buffer
+	 * @param offset
+	 *            first position to write in buffer
+	 * @param length
+	 *            maximum number of ints to read
+	 * @return the number of ints read, 0 only if the sequence is exhausted (or length is 0)
+	 */
+	public int drain(int[] buffer, int offset, int length);
+
+}
@@ -1,5 +1,12 @@
 package net.ericaro.neoitertools;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -8,7 +15,11 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
+import net.ericaro.neoitertools.generators.AsyncMapGenerator;
+import net.ericaro.neoitertools.generators.BatchGenerator;
 import net.ericaro.neoitertools.generators.ChainGenerator;
 import net.ericaro.neoitertools.generators.CharSequenceGenerator;
 import net.ericaro.neoitertools.generators.CycleGenerator;
@@ -21,24 +32,59 @@ import net.ericaro.neoitertools.generators.GenericArrayGenerator;
 import net.ericaro.neoitertools.generators.GroupByGenerator;
 import net.ericaro.neoitertools.generators.IteratorGenerator;
 import net.ericaro.neoitertools.generators.MapGenerator;
+import net.ericaro.neoitertools.generators.PairwiseGenerator;
+import net.ericaro.neoitertools.generators.ParallelMapGenerator;
+import net.ericaro.neoitertools.generators.Pipeline;
+import net.ericaro.neoitertools.generators.PrefetchGenerator;
+import net.ericaro.neoitertools.generators.ProductGenerator;
+import net.ericaro.neoitertools.generators.ProgressGenerator;
+import net.ericaro.neoitertools.generators.PureMapGenerator;
 import net.ericaro.neoitertools.generators.RangeGenerator;
 import net.ericaro.neoitertools.generators.RepeatGenerator;
 import net.ericaro.neoitertools.generators.YieldGenerator;
 import net.ericaro.neoitertools.generators.SliceGenerator;
+import net.ericaro.neoitertools.generators.SortedGenerator;
 import net.ericaro.neoitertools.generators.TakeWhileGenerator;
 import net.ericaro.neoitertools.generators.TeeGeneratorFactory;
+import net.ericaro.neoitertools.generators.WindowGenerator;
 import net.ericaro.neoitertools.generators.YieldThread;
 import net.ericaro.neoitertools.generators.ZipGenerator;
+import net.ericaro.neoitertools.generators.ZipLongestGenerator;
 import net.ericaro.neoitertools.generators.ZipPairGenerator;
 import net.ericaro.neoitertools.generators.combinatorics.Combinatorics;
+import net.ericaro.neoitertools.generators.combinatorics.TupleView;
+import net.ericaro.neoitertools.generators.io.ByteChannelGenerator;
+import net.ericaro.neoitertools.generators.io.CharChannelGenerator;
+import net.ericaro.neoitertools.generators.io.FieldGenerator;
+import net.ericaro.neoitertools.generators.io.LineGenerator;
+import net.ericaro.neoitertools.generators.io.LineWriter;
+import net.ericaro.neoitertools.generators.io.RecordGenerator;
+import net.ericaro.neoitertools.generators.io.RecordWriter;
 import net.ericaro.neoitertools.generators.primitives.BooleanGenerator;
 import net.ericaro.neoitertools.generators.primitives.ByteGenerator;
 import net.ericaro.neoitertools.generators.primitives.CharacterGenerator;
+import net.ericaro.neoitertools.generators.primitives.DoubleBatchGenerator;
 import net.ericaro.neoitertools.generators.primitives.DoubleGenerator;
+import net.ericaro.neoitertools.generators.primitives.DoubleSlidingExtremum;
+import net.ericaro.neoitertools.generators.primitives.DoubleSlidingSum;
+import net.ericaro.neoitertools.generators.primitives.DoubleWindow;
+import net.ericaro.neoitertools.generators.primitives.DoubleWindowGenerator;
+import net.ericaro.neoitertools.generators.primitives.DoubleZip;
 import net.ericaro.neoitertools.generators.primitives.FloatGenerator;
+import net.ericaro.neoitertools.generators.primitives.IntBatchGenerator;
+import net.ericaro.neoitertools.generators.primitives.IntWindow;
+import net.ericaro.neoitertools.generators.primitives.IntWindowGenerator;
+import net.ericaro.neoitertools.generators.primitives.IntZip;
 import net.ericaro.neoitertools.generators.primitives.IntegerGenerator;
+import net.ericaro.neoitertools.generators.primitives.LongBatchGenerator;
 import net.ericaro.neoitertools.generators.primitives.LongGenerator;
+import net.ericaro.neoitertools.generators.primitives.LongSlidingExtremum;
+import net.ericaro.neoitertools.generators.primitives.LongSlidingSum;
+import net.ericaro.neoitertools.generators.primitives.LongWindow;
+import net.ericaro.neoitertools.generators.primitives.LongWindowGenerator;
+import net.ericaro.neoitertools.generators.primitives.LongZip;
 import net.ericaro.neoitertools.generators.primitives.ShortGenerator;
+import net.ericaro.neoitertools.generators.primitives.SlidingMean;
 
 /**
  * <p>
@@ -104,6 +150,146 @@ public class Itertools {
 		}
 	}
 
+	/**
+	 * <p>
+	 * View an {@link IntSource} as a {@link LongSource}, widening each int.
+	 * </p>
+	 * 
+	 * @param source
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static LongSource asLongSource(final IntSource source) {
+		return new LongSource() {
+			public long nextLong() throws NoSuchElementException {
+				return source.nextInt();
+			}
+
+			public int drain(long[] buffer, int offset, int length) {
+				int n = 0;
+				try {
+					while (n < length) {
+						buffer[offset + n] = source.nextInt();
+						n++;
+					}
+				} catch (NoSuchElementException e) {
+				}
+				return n;
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * Same as {@link Itertools#map(Lambda, Generator)} for blocking mappers (I/O...): each call to the mapper runs on its own (virtual if available) thread,
+	 * up to concurrency calls at once, results are returned in the source order.
+	 * </p>
+	 * 
+	 * @param mapper
+	 *            a thread safe mapping function
+	 * @param sequence
+	 * @param concurrency
+	 *            maximum number of calls to the mapper at once
+	 * @see AsyncMapGenerator
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T, K> AsyncMapGenerator<T, K> asyncMap(Lambda<? super T, K> mapper, Generator<T> sequence, int concurrency) {
+		return new AsyncMapGenerator<T, K>(mapper, sequence, concurrency, true, 0, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * <p>
+	 * Same as {@link Itertools#asyncMap(Lambda, Generator, int)}, with a timeout for each call, and results returned either in the source order or as soon
+	 * as they are available.
+	 * </p>
+	 * 
+	 * @param mapper
+	 *            a thread safe mapping function
+	 * @param sequence
+	 * @param concurrency
+	 *            maximum number of calls to the mapper at once
+	 * @param ordered
+	 *            false to return the results as soon as they are available
+	 * @param timeout
+	 *            maximum time for each call, 0 for no limit
+	 * @param unit
+	 * @see AsyncMapGenerator
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T, K> AsyncMapGenerator<T, K> asyncMap(Lambda<? super T, K> mapper, Generator<T> sequence, int concurrency, boolean ordered, long timeout,
+			TimeUnit unit) {
+		return new AsyncMapGenerator<T, K>(mapper, sequence, concurrency, ordered, timeout, unit);
+	}
+
+	/**
+	 * <p>
+	 * Regroup the generator into lists of n items. The last list is shorter if there are not enough items left.
+	 * </p>
+	 * 
+	 * <pre>
+	 * batched('ABCDEFG', 3) --> ABC DEF G
+	 * </pre>
+	 * 
+	 * @param generator
+	 * @param n
+	 *            the size of a batch
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<List<T>> batched(Generator<T> generator, int n) {
+		return new BatchGenerator<T>(generator, n);
+	}
+
+	/**
+	 * <p>
+	 * Regroup the ints into arrays of n ints, without boxing. Full batches are the same array, reused, only valid until the next call to next(). The
+	 * last batch is a new shorter array if there are not enough ints left.
+	 * </p>
+	 * 
+	 * @param source
+	 * @param n
+	 *            the size of a batch
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static Generator<int[]> batchedInt(IntSource source, int n) {
+		return new IntBatchGenerator(source, n);
+	}
+
+	/**
+	 * <p>
+	 * Regroup the longs into arrays of n longs, without boxing. Full batches are the same array, reused, only valid until the next call to next(). The
+	 * last batch is a new shorter array if there are not enough longs left.
+	 * </p>
+	 * 
+	 * @param source
+	 * @param n
+	 *            the size of a batch
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static Generator<long[]> batchedLong(LongSource source, int n) {
+		return new LongBatchGenerator(source, n);
+	}
+
+	/**
+	 * <p>
+	 * Regroup the doubles into arrays of n doubles, without boxing. Full batches are the same array, reused, only valid until the next call to next(). The
+	 * last batch is a new shorter array if there are not enough doubles left.
+	 * </p>
+	 * 
+	 * @param source
+	 * @param n
+	 *            the size of a batch
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static Generator<double[]> batchedDouble(DoubleSource source, int n) {
+		return new DoubleBatchGenerator(source, n);
+	}
+
 	/**
 	 * <p>
 	 * Make an generator that returns elements from the first iterable until it is exhausted, then proceeds to the next iterable, until all of the iterables are
@@ -160,6 +346,46 @@ public class Itertools {
 		return Combinatorics.applied(list, Combinatorics.combinations(list.size(), r));
 	}
 
+	/**
+	 * <p>
+	 * Same as {@link Itertools#combinations(Generator, int)}, but the same {@link TupleView} is returned over and over, updated in place instead of
+	 * allocating a new list per combination. Each view is only valid until the next call to next(), call {@link TupleView#copy()} to keep it.
+	 * </p>
+	 * 
+	 * @param generator
+	 * @param r
+	 * @return generator over combinations as a reused view
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<TupleView<T>> combinationsView(Generator<T> generator, int r) {
+		List<T> list = list(generator);
+		return Combinatorics.appliedView(list, Combinatorics.combinations(list.size(), r));
+	}
+
+	/**
+	 * <p>
+	 * Return <code>r</code> length subsequences of elements from the input generator allowing individual elements to be repeated more than once.
+	 * </p>
+	 * <p>
+	 * Combinations are emitted in lexicographic sort order. So, if the input generator is sorted, the combination tuples will be produced in sorted order.
+	 * </p>
+	 * <p>
+	 * Elements are treated as unique based on their position, not on their value. So if the input elements are unique, the generated combinations will also
+	 * be unique.
+	 * </p>
+	 * 
+	 * @param generator
+	 * @param r
+	 * @return generator over combinations as list
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<List<T>> combinationsWithReplacement(Generator<T> generator, int r) {
+		List<T> list = list(generator);
+		return Combinatorics.applied(list, Combinatorics.combinationsWithReplacement(list.size(), r));
+	}
+
 	/**
 	 * <p>
 	 * Make a generator that returns all the consecutive integers starting with 0.
@@ -189,6 +415,25 @@ public class Itertools {
 		return new RangeGenerator(n, Integer.MAX_VALUE);
 	}
 
+	/**
+	 * <p>
+	 * Split a CSV line (comma delimited, with double quotes) into fields. Each field is a reused {@link CharSequence}
+	 * view, see {@link FieldGenerator}.
+	 * </p>
+	 * 
+	 * <pre>
+	 * csv('a,"b,c",d') --> a b,c d
+	 * </pre>
+	 * 
+	 * @param line
+	 *            a line, without its line terminator
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static FieldGenerator csv(CharSequence line) {
+		return FieldGenerator.csv(line);
+	}
+
 	/**
 	 * <p>
 	 * Make an generator returning elements from the generator and saving a copy of each. When the generator is exhausted, return elements from the saved copy.
@@ -262,6 +507,23 @@ public class Itertools {
 		return new EnumerateGenerator<T>(generator);
 	}
 
+	/**
+	 * <p>
+	 * Split a line on a delimiter, without quoting. Each field is a reused {@link CharSequence} view, see
+	 * {@link FieldGenerator}.
+	 * </p>
+	 * 
+	 * @param line
+	 *            a line, without its line terminator
+	 * @param delimiter
+	 *            the char between fields
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static FieldGenerator fields(CharSequence line, char delimiter) {
+		return new FieldGenerator(line, delimiter);
+	}
+
 	/**
 	 * <p>
 	 * Make an generator that filters elements from generator returning only those for which the predicate is True.
@@ -479,6 +741,63 @@ public class Itertools {
 		return new GenericArrayGenerator<T>(t);
 	}
 
+	/**
+	 * Turn an {@link InputStream} into a generator of bytes, that can be read without boxing, see {@link ByteChannelGenerator}
+	 * 
+	 * @param in
+	 * @return a generator over the bytes of the stream
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static ByteChannelGenerator iter(InputStream in) {
+		return new ByteChannelGenerator(in);
+	}
+
+	/**
+	 * Turn an {@link InputStream} into a generator of chars, decoded on the fly, that can be read without boxing, see
+	 * {@link CharChannelGenerator}
+	 * 
+	 * @param in
+	 * @param charset
+	 *            the charset of the stream
+	 * @return a generator over the chars of the stream
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static CharChannelGenerator iter(InputStream in, Charset charset) {
+		return new CharChannelGenerator(in, charset);
+	}
+
+	/**
+	 * Turn a {@link ReadableByteChannel} into a generator of bytes, that can be read without boxing, see
+	 * {@link ByteChannelGenerator}
+	 * 
+	 * @param channel
+	 *            a blocking channel
+	 * @return a generator over the bytes of the channel
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static ByteChannelGenerator iter(ReadableByteChannel channel) {
+		return new ByteChannelGenerator(channel);
+	}
+
+	/**
+	 * Turn a {@link ReadableByteChannel} into a generator of chars, decoded on the fly, that can be read without boxing,
+	 * see {@link CharChannelGenerator}
+	 * 
+	 * @param channel
+	 *            a blocking channel
+	 * @param charset
+	 *            the charset of the channel
+	 * @return a generator over the chars of the channel
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static CharChannelGenerator iter(ReadableByteChannel channel, Charset charset) {
+		return new CharChannelGenerator(channel, charset);
+	}
+
 	/**
 	 * Turn any {@link Iterable} into a {@link Generator}
 	 * 
@@ -513,6 +832,30 @@ public class Itertools {
 		return new YieldGenerator<T>(yield);
 	}
 
+	/**
+	 * <p>
+	 * Read the lines of a text file through memory mapping. Each line is a reused {@link CharSequence} view, only valid
+	 * until the next line is read: use toString() to keep it, see {@link LineGenerator}.
+	 * </p>
+	 * 
+	 * <pre>
+	 * for (CharSequence line : in(lines(path, Charset.forName(&quot;UTF-8&quot;))))
+	 * 	...
+	 * </pre>
+	 * 
+	 * @param path
+	 *            the file to read
+	 * @param charset
+	 *            the charset of the file, it must encode '\n' as a single byte (UTF-8, ISO-8859-1...)
+	 * @throws IOException
+	 *             if the file cannot be opened
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static LineGenerator lines(Path path, Charset charset) throws IOException {
+		return new LineGenerator(path, charset);
+	}
+
 	/**
 	 * Creates a {@link List} from a {@link Generator}
 	 * 
@@ -555,6 +898,9 @@ public class Itertools {
 
 	/**
 	 * Apply {@link Lambda} to every item of <code>sequence</code> and return a {@link Generator} of the results.
+	 * <p>
+	 * If the mapper is {@link Pure}, skipped items (see {@link Itertools#skip(Generator, long)}) are not mapped at all.
+	 * </p>
 	 * 
 	 * @param mapper
 	 * @param sequence
@@ -562,9 +908,88 @@ public class Itertools {
 	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
 	 */
 	public static <T, K> Generator<K> map(final Lambda<? super T, K> mapper, final Generator<T> sequence) {
+		if (mapper instanceof Pure)
+			return new PureMapGenerator<T, K>(mapper, sequence);
 		return new MapGenerator<T, K>(mapper, sequence);
 	}
 
+	/**
+	 * <p>
+	 * Cache the results of a lambda, typically an expensive key function given to groupby or sorted, or a mapper that
+	 * sees repeated inputs. At most maxEntries results are kept, see {@link MemoizedLambda} for the eviction policy and
+	 * the statistics.
+	 * </p>
+	 * 
+	 * @param lambda
+	 *            the lambda to cache
+	 * @param maxEntries
+	 *            maximum number of results kept
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <I, O> MemoizedLambda<I, O> memoize(Lambda<? super I, ? extends O> lambda, int maxEntries) {
+		return new MemoizedLambda<I, O>(lambda, maxEntries);
+	}
+
+	/**
+	 * <p>
+	 * Return successive overlapping pairs taken from the generator.
+	 * </p>
+	 * 
+	 * <pre>
+	 * pairwise('ABCDEFG') --> AB BC CD DE EF FG
+	 * </pre>
+	 * 
+	 * @param generator
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<Pair<T, T>> pairwise(Generator<T> generator) {
+		return new PairwiseGenerator<T>(generator);
+	}
+
+	/**
+	 * <p>
+	 * Same as {@link Itertools#map(Lambda, Generator)}, but the mapper is run on parallelism threads of a dedicated {@link java.util.concurrent.ForkJoinPool}, up to window items
+	 * at once. Results are returned in the source order, and an exception thrown by the mapper is thrown by next() at the item position.
+	 * </p>
+	 * <p>
+	 * The pool is shut down once the source is exhausted, or by {@link ParallelMapGenerator#cancel()}.
+	 * </p>
+	 * 
+	 * @param mapper
+	 *            a thread safe mapping function
+	 * @param sequence
+	 * @param parallelism
+	 *            the number of threads
+	 * @param window
+	 *            maximum number of items read ahead from the sequence
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T, K> ParallelMapGenerator<T, K> parallelMap(Lambda<? super T, K> mapper, Generator<T> sequence, int parallelism, int window) {
+		return new ParallelMapGenerator<T, K>(mapper, sequence, parallelism, window);
+	}
+
+	/**
+	 * <p>
+	 * Same as {@link Itertools#parallelMap(Lambda, Generator, int, int)}, on a supplied executor (that is not shut down).
+	 * </p>
+	 * 
+	 * @param mapper
+	 *            a thread safe mapping function
+	 * @param sequence
+	 * @param executor
+	 *            where the mapper is run
+	 * @param window
+	 *            maximum number of items read ahead from the sequence
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T, K> ParallelMapGenerator<T, K> parallelMap(Lambda<? super T, K> mapper, Generator<T> sequence, Executor executor, int window) {
+		return new ParallelMapGenerator<T, K>(mapper, sequence, executor, window);
+	}
+
 	/**
 	 * <p>
 	 * Return successive full length permutations of elements in the generator.
@@ -587,6 +1012,27 @@ public class Itertools {
 		return Combinatorics.applied(list, Combinatorics.permutations(list.size()));
 	}
 
+	/**
+	 * <p>
+	 * Return successive full length permutations of elements in the generator.
+	 * </p>
+	 * <p>
+	 * If <code>lexicographic</code> is false, permutations are emitted in no particular order, but each one is obtained from the previous one by a single
+	 * swap, which is the fastest way to get them all.
+	 * </p>
+	 * 
+	 * @param generator
+	 * @param lexicographic
+	 *            true to emit permutations in lexicographic sort order, as {@link Itertools#permutations(Generator)}
+	 * @return generator of permuted list
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<List<T>> permutations(Generator<T> generator, boolean lexicographic) {
+		List<T> list = list(generator);
+		return Combinatorics.applied(list, Combinatorics.permutations(list.size(), lexicographic));
+	}
+
 	/**
 	 * <p>
 	 * Return successive r-length permutations of elements in the generator.
@@ -611,54 +1057,190 @@ public class Itertools {
 	}
 
 	/**
-	 * Cartesian product of input sequences.
+	 * <p>
+	 * Same as {@link Itertools#permutations(Generator)}, but the same {@link TupleView} is returned over and over, updated in place instead of allocating a
+	 * new list per permutation. Each view is only valid until the next call to next(), call {@link TupleView#copy()} to keep it.
+	 * </p>
 	 * 
-	 * @param generators
-	 *            a generator of Generators
+	 * @param generator
+	 * @return generator of permutations as a reused view
 	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
 	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
 	 */
-	public static <T> Generator<List<T>> product(Generator<Generator<T>> generators) {
-		return product(generators, 1);
+	public static <T> Generator<TupleView<T>> permutationsView(Generator<T> generator) {
+		List<T> list = list(generator);
+		return Combinatorics.appliedView(list, Combinatorics.permutations(list.size()));
 	}
 
 	/**
 	 * <p>
-	 * Cartesian product of input sequences.
-	 * </p>
-	 * <p>
-	 * repeat simulate the repetition of the input sequence.
+	 * Same as {@link Itertools#permutations(Generator, int)}, but the same {@link TupleView} is returned over and over, updated in place instead of
+	 * allocating a new list per permutation. Each view is only valid until the next call to next(), call {@link TupleView#copy()} to keep it.
 	 * </p>
 	 * 
-	 * @param generators
-	 *            a generator of Generators
-	 * @param repeat
-	 * @return a generator of cartesian product items
+	 * @param generator
+	 * @param r
+	 * @return generator of r-sized permutations as a reused view
 	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
 	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
 	 */
-	public static <T> Generator<List<T>> product(Generator<Generator<T>> generators, int repeat) {
-		if (repeat == 0)
-			return new EmptyGenerator<List<T>>();
-		List<List<T>> list = new LinkedList<List<T>>();
-		// store all values (required for a product
-		for (Generator<T> g : in(generators))
-			list.add(list(g));
-
-		// generate length array: length = len(lists)
-		// [ len( lists[i%length]) for i in range( length ) ]
-		// or for more fun
-		// map( len, list*repeat )
-		// note that I don't use neoitertools to implement it to avoid bug
-		// propagations
-		// and that I should also provide a bunch of Lambda object for every
-		// function in itertools (and more (like len )
+	public static <T> Generator<TupleView<T>> permutationsView(Generator<T> generator, int r) {
+		List<T> list = list(generator);
+		return Combinatorics.appliedView(list, Combinatorics.sublists(list.size(), r));
+	}
+
+	/**
+	 * <p>
+	 * Start a {@link Pipeline} reading the generator: stages added with {@link Pipeline#stage(String, Lambda)} run on their own thread, exchanging batches
+	 * of items.
+	 * </p>
+	 * 
+	 * @param generator
+	 *            the source of the pipeline
+	 * @param batch
+	 *            number of items exchanged at once between two threads
+	 * @param capacity
+	 *            maximum number of batches waiting between two threads
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Pipeline<T> pipeline(Generator<T> generator, int batch, int capacity) {
+		return new Pipeline<T>(generator, batch, capacity);
+	}
+
+	/**
+	 * <p>
+	 * Read the generator ahead on a background thread, up to capacity items, so that it runs at the same time as the consumer. Exceptions thrown by the
+	 * generator are thrown back by next().
+	 * </p>
+	 * 
+	 * @param generator
+	 *            the generator to read on a background thread
+	 * @param capacity
+	 *            maximum number of items read ahead
+	 * @see PrefetchGenerator
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> PrefetchGenerator<T> prefetch(Generator<T> generator, int capacity) {
+		return new PrefetchGenerator<T>(generator, capacity);
+	}
+
+	/**
+	 * <p>
+	 * Wrap a generator whose number of items is known, to follow its progress.
+	 * </p>
+	 * <p>
+	 * The returned generator can be polled from any thread for the number of items emitted so far, the rate and the estimated remaining time, or cancelled.
+	 * The count of permutations, combinations and products is known upfront, see {@link Combinatorics#countPermutations(int)} and its siblings, e.g.
+	 * <code>progress(permutations(generator), Combinatorics.countPermutations(n))</code>.
+	 * </p>
+	 * 
+	 * @param generator
+	 *            the source generator
+	 * @param count
+	 *            the number of items of the source generator
+	 * @return a generator following the progress of the source generator
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> ProgressGenerator<T> progress(Generator<T> generator, BigInteger count) {
+		return new ProgressGenerator<T>(generator, count);
+	}
+
+	/**
+	 * Cartesian product of input sequences.
+	 * 
+	 * @param generators
+	 *            a generator of Generators
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<List<T>> product(Generator<Generator<T>> generators) {
+		return product(generators, 1);
+	}
+
+	/**
+	 * <p>
+	 * Cartesian product of input sequences.
+	 * </p>
+	 * <p>
+	 * repeat simulate the repetition of the input sequence.
+	 * </p>
+	 * <p>
+	 * When repeat is 1, the first generator is streamed instead of being stored, so it can be huge (or infinite), only the
+	 * other ones are stored, unless they are {@link Rewindable}. The number of items is the product of the factor sizes, see
+	 * {@link Combinatorics#countProduct(int[])}.
+	 * </p>
+	 * 
+	 * @param generators
+	 *            a generator of Generators
+	 * @param repeat
+	 * @return a generator of cartesian product items
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<List<T>> product(Generator<Generator<T>> generators, int repeat) {
+		if (repeat == 0)
+			return new EmptyGenerator<List<T>>();
+		if (repeat == 1) {
+			// the first factor is read only once: stream it
+			Generator<T> head;
+			try {
+				head = generators.next();
+			} catch (NoSuchElementException e) {
+				head = null;
+			}
+			if (head != null)
+				return new ProductGenerator<T>(head, list(generators));
+		}
+		List<List<T>> list = productLists(generators);
+		return Combinatorics.selected(list, Combinatorics.product(productLengths(list, repeat)));
+	}
+
+	/**
+	 * <p>
+	 * Same as {@link Itertools#product(Generator, int)}, but the same {@link TupleView} is returned over and over, updated in place instead of allocating a
+	 * new list per item. Each view is only valid until the next call to next(), call {@link TupleView#copy()} to keep it.
+	 * </p>
+	 * 
+	 * @param generators
+	 *            a generator of Generators
+	 * @param repeat
+	 * @return a generator of cartesian product items as a reused view
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<TupleView<T>> productView(Generator<Generator<T>> generators, int repeat) {
+		if (repeat == 0)
+			return new EmptyGenerator<TupleView<T>>();
+		List<List<T>> list = productLists(generators);
+		return Combinatorics.selectedView(list, Combinatorics.product(productLengths(list, repeat)));
+	}
+
+	/** store all values (required for a product)
+	 */
+	private static <T> List<List<T>> productLists(Generator<Generator<T>> generators) {
+		List<List<T>> list = new ArrayList<List<T>>();
+		for (Generator<T> g : in(generators))
+			list.add(list(g)); // copied into arrays by Combinatorics.selected
+		return list;
+	}
 
+	/** generate length array: length = len(lists)
+	 * [ len( lists[i%length]) for i in range( length ) ]
+	 * or for more fun
+	 * map( len, list*repeat )
+	 * note that I don't use neoitertools to implement it to avoid bug
+	 * propagations
+	 * and that I should also provide a bunch of Lambda object for every
+	 * function in itertools (and more (like len )
+	 */
+	private static <T> int[] productLengths(List<List<T>> list, int repeat) {
 		int[] lengths = new int[list.size() * repeat];
 		for (int i = 0; i < lengths.length; i++)
 			lengths[i] = list.get(i % list.size()).size();
-
-		return Combinatorics.selected(list, Combinatorics.product(lengths));
+		return lengths;
 	}
 
 	/**
@@ -750,6 +1332,26 @@ public class Itertools {
 		return new RangeGenerator(start, end, step);
 	}
 
+	/**
+	 * <p>
+	 * Read a binary file as fixed size records, through memory mapping. Each record is a reused {@link ByteBuffer},
+	 * only valid until the next record is read, see {@link RecordGenerator} for length prefixed records, byte ranges
+	 * and primitive columns.
+	 * </p>
+	 * 
+	 * @param path
+	 *            the file to read
+	 * @param recordSize
+	 *            size of a record in bytes
+	 * @throws IOException
+	 *             if the file cannot be opened
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static RecordGenerator records(Path path, int recordSize) throws IOException {
+		return new RecordGenerator(path, recordSize);
+	}
+
 	/**
 	 * Equivalent to reduce(operator, generator, null);
 	 * 
@@ -858,7 +1460,8 @@ public class Itertools {
 	 * Return a reverse generator.
 	 * </p>
 	 * <p>
-	 * The whole generator is stored, so be careful when used.
+	 * The whole generator is stored, so be careful when used. Except when reversing a sorted generator that has not started yet: it is simply sorted
+	 * the other way round.
 	 * </p>
 	 * 
 	 * @param generator
@@ -868,11 +1471,222 @@ public class Itertools {
 	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
 	 */
 	public static <T> Generator<T> reversed(Generator<T> generator) {
+		if (generator instanceof SortedGenerator && !((SortedGenerator<T>) generator).isStarted())
+			return ((SortedGenerator<T>) generator).reversed();
 		List<T> list = list(generator);
 		Collections.reverse(list);
 		return iter(list);
 	}
 
+	/**
+	 * <p>
+	 * Advance the generator n steps ahead, discarding the items. {@link Skippable} generators jump directly, the others are read item by item.
+	 * </p>
+	 * 
+	 * @param generator
+	 *            the generator to advance
+	 * @param n
+	 *            the number of items to skip
+	 * @return the number of items skipped, less than n only if the generator is exhausted (a {@link Skippable} generator always reports n)
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> long skip(Generator<T> generator, long n) {
+		if (generator instanceof Skippable) {
+			((Skippable) generator).skip(n);
+			return n;
+		}
+		long i = 0;
+		try {
+			while (i < n) {
+				generator.next();
+				i++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return i;
+	}
+
+	/**
+	 * <p>
+	 * Sliding maximum of every window of size consecutive ints, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static LongSlidingExtremum slidingMax(IntSource source, int size) {
+		return slidingMax(asLongSource(source), size);
+	}
+
+	/**
+	 * <p>
+	 * Sliding maximum of every window of size consecutive longs, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static LongSlidingExtremum slidingMax(LongSource source, int size) {
+		return new LongSlidingExtremum(source, size, true);
+	}
+
+	/**
+	 * <p>
+	 * Sliding maximum of every window of size consecutive doubles, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static DoubleSlidingExtremum slidingMax(DoubleSource source, int size) {
+		return new DoubleSlidingExtremum(source, size, true);
+	}
+
+	/**
+	 * <p>
+	 * Sliding mean of every window of size consecutive ints, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static SlidingMean slidingMean(IntSource source, int size) {
+		return slidingMean(asLongSource(source), size);
+	}
+
+	/**
+	 * <p>
+	 * Sliding mean of every window of size consecutive longs, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static SlidingMean slidingMean(LongSource source, int size) {
+		return new SlidingMean(slidingSum(source, size));
+	}
+
+	/**
+	 * <p>
+	 * Sliding mean of every window of size consecutive doubles, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static SlidingMean slidingMean(DoubleSource source, int size) {
+		return new SlidingMean(slidingSum(source, size));
+	}
+
+	/**
+	 * <p>
+	 * Sliding minimum of every window of size consecutive ints, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static LongSlidingExtremum slidingMin(IntSource source, int size) {
+		return slidingMin(asLongSource(source), size);
+	}
+
+	/**
+	 * <p>
+	 * Sliding minimum of every window of size consecutive longs, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static LongSlidingExtremum slidingMin(LongSource source, int size) {
+		return new LongSlidingExtremum(source, size, false);
+	}
+
+	/**
+	 * <p>
+	 * Sliding minimum of every window of size consecutive doubles, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static DoubleSlidingExtremum slidingMin(DoubleSource source, int size) {
+		return new DoubleSlidingExtremum(source, size, false);
+	}
+
+	/**
+	 * <p>
+	 * Sliding sum of every window of size consecutive ints, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static LongSlidingSum slidingSum(IntSource source, int size) {
+		return slidingSum(asLongSource(source), size);
+	}
+
+	/**
+	 * <p>
+	 * Sliding sum of every window of size consecutive longs, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static LongSlidingSum slidingSum(LongSource source, int size) {
+		return new LongSlidingSum(source, size);
+	}
+
+	/**
+	 * <p>
+	 * Sliding sum of every window of size consecutive doubles, in O(1) per value instead of O(size).
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static DoubleSlidingSum slidingSum(DoubleSource source, int size) {
+		return new DoubleSlidingSum(source, size);
+	}
+
 	/**
 	 * equivalent to {@link Itertools#slice}(0, stop, 1);
 	 * 
@@ -929,6 +1743,10 @@ public class Itertools {
 
 	/**
 	 * Returns a sorted Generator in natural ascending order of T.
+	 * <p>
+	 * The sort is lazy: items are sorted as they are requested, so reading only the first few items of a large generator is much cheaper than sorting it
+	 * all. (see {@link SortedGenerator})
+	 * </p>
 	 * 
 	 * @param <T>
 	 * @param generator
@@ -936,9 +1754,11 @@ public class Itertools {
 	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
 	 */
 	public static <T extends Comparable<? super T>> Generator<T> sorted(Generator<T> generator) {
-		List<T> list = list(generator);
-		Collections.sort(list);
-		return iter(list);
+		return new SortedGenerator<T>(generator, new Comparator<T>() {
+			public int compare(T o1, T o2) {
+				return o1.compareTo(o2);
+			}
+		});
 	}
 
 	/**
@@ -987,10 +1807,7 @@ public class Itertools {
 
 		};
 
-		List<Pair<K, T>> list = list(map(valueToKeyValue, generator));
-		Collections.sort(list, keyComparator);
-
-		return map(keyValueToValue, iter(list));
+		return map(keyValueToValue, new SortedGenerator<Pair<K, T>>(map(valueToKeyValue, generator), keyComparator));
 	}
 
 	/**
@@ -1003,9 +1820,7 @@ public class Itertools {
 	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
 	 */
 	public static <T> Generator<T> sorted(Generator<T> generator, Comparator<? super T> cmp) {
-		List<T> list = list(generator);
-		Collections.sort(list, cmp);
-		return iter(list);
+		return new SortedGenerator<T>(generator, cmp);
 	}
 
 	/**
@@ -1082,6 +1897,7 @@ public class Itertools {
 
 	/**
 	 * Return n independent generators from a single iterable.
+	 * If the generator is {@link Copyable}, the generators are copies of it, nothing is buffered.
 	 * 
 	 * @param generator
 	 *            the source generator
@@ -1092,8 +1908,13 @@ public class Itertools {
 	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
 	 */
 	public static <T> List<Generator<T>> tee(Generator<T> generator, int n) {
-		// create the generator provider
 		List<Generator<T>> list = new ArrayList<Generator<T>>(n);
+		if (generator instanceof Copyable) {
+			for (int i = 0; i < n; i++)
+				list.add(((Copyable<T>) generator).copy());
+			return list;
+		}
+		// create the generator provider
 		TeeGeneratorFactory<T> factory = new TeeGeneratorFactory<T>(generator);
 		for (int i = 0; i < n; i++)
 			list.add(factory.newInstance());
@@ -1112,6 +1933,131 @@ public class Itertools {
 		return Collections.unmodifiableList(list(generator));
 	}
 
+	/**
+	 * <p>
+	 * Sliding windows of size items, moving step items at a time. Only full windows are returned.
+	 * </p>
+	 * <p>
+	 * The items are kept in a single ring buffer, and the same read-only list is returned over and over, updated in place: it is only valid until the next
+	 * call to next(), copy it to keep it.
+	 * </p>
+	 * 
+	 * <pre>
+	 * windowed('ABCDEFG', 3, 2) --> ABC CDE EFG
+	 * </pre>
+	 * 
+	 * @param generator
+	 * @param size
+	 *            the number of items in a window
+	 * @param step
+	 *            the number of items between the start of two windows
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<List<T>> windowed(Generator<T> generator, int size, int step) {
+		return new WindowGenerator<T>(generator, size, step);
+	}
+
+	/**
+	 * <p>
+	 * Write the lines of a generator to a file, each followed by "\n", and close it. The lines are encoded into large
+	 * buffers written at once, see {@link LineWriter} for the buffer size and the sync policy.
+	 * </p>
+	 * 
+	 * @param lines
+	 *            the lines to write
+	 * @param path
+	 *            the file to write, it is created or truncated
+	 * @param charset
+	 * @return the number of lines written
+	 * @throws IOException
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static long writeLines(Generator<? extends CharSequence> lines, Path path, Charset charset) throws IOException {
+		LineWriter writer = new LineWriter(path, charset);
+		try {
+			return writer.writeAll(lines);
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Write the records of a generator to a file, as they are, and close it. See {@link RecordWriter} for length
+	 * prefixed records, the buffer size and the sync policy.
+	 * </p>
+	 * 
+	 * @param records
+	 *            the records to write, their remaining bytes are written
+	 * @param path
+	 *            the file to write, it is created or truncated
+	 * @return the number of records written
+	 * @throws IOException
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static long writeRecords(Generator<? extends ByteBuffer> records, Path path) throws IOException {
+		RecordWriter writer = new RecordWriter(path);
+		try {
+			return writer.writeAll(records);
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Same as {@link Itertools#windowed(Generator, int, int)} for ints, without boxing.
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the number of ints in a window
+	 * @param step
+	 *            the number of ints between the start of two windows
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static Generator<IntWindow> windowedInt(IntSource source, int size, int step) {
+		return new IntWindowGenerator(source, size, step);
+	}
+
+	/**
+	 * <p>
+	 * Same as {@link Itertools#windowed(Generator, int, int)} for longs, without boxing.
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the number of longs in a window
+	 * @param step
+	 *            the number of longs between the start of two windows
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static Generator<LongWindow> windowedLong(LongSource source, int size, int step) {
+		return new LongWindowGenerator(source, size, step);
+	}
+
+	/**
+	 * <p>
+	 * Same as {@link Itertools#windowed(Generator, int, int)} for doubles, without boxing.
+	 * </p>
+	 * 
+	 * @param source
+	 * @param size
+	 *            the number of doubles in a window
+	 * @param step
+	 *            the number of doubles between the start of two windows
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static Generator<DoubleWindow> windowedDouble(DoubleSource source, int size, int step) {
+		return new DoubleWindowGenerator(source, size, step);
+	}
+
 	/**
 	 * Causes the generate method to stop, and make the <code>t</code>value
 	 * returned by the associated <code>next</code> method.
@@ -1148,6 +2094,78 @@ public class Itertools {
 		return new ZipGenerator<T>(generatorList);
 	}
 
+	/**
+	 * <p>
+	 * Same as {@link Itertools#zip(Generator)}, but the same list is returned over and over, updated in place instead of allocating a new one per row. Each
+	 * row is only valid until the next call to next().
+	 * </p>
+	 * 
+	 * @param generators
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<List<T>> zipView(Generator<Generator<T>> generators) {
+		return new ZipGenerator<T>(list(generators), true);
+	}
+
+	/**
+	 * <p>
+	 * Make a generator that aggregates elements from each of the generators. If the generators are of uneven length, missing values are filled-in with
+	 * fillvalue. Iteration continues until the longest generator is exhausted.
+	 * </p>
+	 * 
+	 * <pre>
+	 * zipLongest('ABCD', 'xy', '-') --> Ax By C- D-
+	 * </pre>
+	 * 
+	 * @param generators
+	 * @param fillvalue
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static <T> Generator<List<T>> zipLongest(Generator<Generator<T>> generators, T fillvalue) {
+		return new ZipLongestGenerator<T>(list(generators), fillvalue);
+	}
+
+	/**
+	 * <p>
+	 * Zip int columns: rows are written into caller's int arrays, without boxing.
+	 * </p>
+	 * 
+	 * @param columns
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static IntZip zipInt(IntSource... columns) {
+		return new IntZip(columns);
+	}
+
+	/**
+	 * <p>
+	 * Zip long columns: rows are written into caller's long arrays, without boxing.
+	 * </p>
+	 * 
+	 * @param columns
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static LongZip zipLong(LongSource... columns) {
+		return new LongZip(columns);
+	}
+
+	/**
+	 * <p>
+	 * Zip double columns: rows are written into caller's double arrays, without boxing.
+	 * </p>
+	 * 
+	 * @param columns
+	 * @see <a href="http://code.google.com/p/neoitertools/wiki/Itertools">Itertools's wiki page</a>
+	 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+	 */
+	public static DoubleZip zipDouble(DoubleSource... columns) {
+		return new DoubleZip(columns);
+	}
+
 	/**
 	 * <p>
 	 * This function returns an {@link Generator} of {@link Pair}s, where the i-th pair contains the i-th element from each of the argument generators.
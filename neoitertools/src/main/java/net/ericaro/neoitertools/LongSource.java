@@ -0,0 +1,34 @@
+package net.ericaro.neoitertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A sequence of longs that can be read without boxing. Generators of Long that store primitive values implement it too, so
+ * that primitive aware functions can skip the boxing.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/LongSource">LongSource's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface LongSource {
+
+	/**
+	 * @return the next long in the sequence.
+	 * @throws NoSuchElementException
+	 *             when sequence is exhausted.
+	 */
+	public long nextLong() throws NoSuchElementException;
+
+	/**
+	 * Bulk read: copy the next longs into buffer, at once.
+	 * 
+	 * @param buffer
+	 * @param offset
+	 *            first position to write in buffer
+	 * @param length
+	 *            maximum number of longs to read
+	 * @return the number of longs read, 0 only if the sequence is exhausted (or length is 0)
+	 */
+	public int drain(long[] buffer, int offset, int length);
+
+}
@@ -0,0 +1,193 @@
+package net.ericaro.neoitertools;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Lambda that caches the results of another one, keeping at most a fixed number of entries.
+ * <p>
+ * The cache is a segmented LRU: a new entry first goes to a probation segment, and is promoted to the protected
+ * segment only when it is hit again. Entries seen only once are evicted first, so a scan of distinct inputs does not
+ * flush the entries that are frequently used.
+ * </p>
+ * <p>
+ * It is thread-safe, and can be used with parallelMap: the entries are split among independent stripes, each with its
+ * own lock. The lambda is called outside of any lock, two threads missing the same input at the same time may both
+ * compute it. Null inputs and results are cached too.
+ * </p>
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/MemoizedLambda">MemoizedLambda's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class MemoizedLambda<I, O> implements Lambda<I, O> {
+
+	private static final Object NULL = new Object(); // cached null results
+	private static final int MAX_STRIPES = 16;
+	private static final int MIN_STRIPE_SIZE = 8; // smaller stripes would evict too early
+
+	private final Lambda<? super I, ? extends O> lambda;
+	private final Stripe<I>[] stripes;
+	private final int maxEntries;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Part of the cache, guarded by its own lock.
+	 */
+	private static class Stripe<I> {
+		// both in access order: the eldest entry is the least recently used
+		final LinkedHashMap<I, Object> probation = new LinkedHashMap<I, Object>(16, 0.75f, true);
+		final LinkedHashMap<I, Object> protect = new LinkedHashMap<I, Object>(16, 0.75f, true);
+		final int capacity;
+		final int protectedCapacity;
+
+		Stripe(int capacity) {
+			this.capacity = capacity;
+			this.protectedCapacity = capacity * 4 / 5;
+		}
+
+		/**
+		 * @return the cached value or null, promoting it if it was in probation.
+		 */
+		synchronized Object get(I key) {
+			Object value = protect.get(key);
+			if (value != null)
+				return value;
+			value = probation.remove(key);
+			if (value == null)
+				return null;
+			protect.put(key, value);
+			if (protect.size() > protectedCapacity) // demote the least recently used
+				moveEldest(protect, probation);
+			return value;
+		}
+
+		/**
+		 * @return the number of entries evicted.
+		 */
+		synchronized int put(I key, Object value) {
+			if (protect.containsKey(key) || probation.containsKey(key))
+				return 0; // computed concurrently
+			probation.put(key, value);
+			int evicted = 0;
+			while (probation.size() + protect.size() > capacity) {
+				removeEldest(probation.isEmpty() ? protect : probation);
+				evicted++;
+			}
+			return evicted;
+		}
+
+		synchronized int size() {
+			return probation.size() + protect.size();
+		}
+
+		private static <I> void moveEldest(LinkedHashMap<I, Object> from, LinkedHashMap<I, Object> to) {
+			Map.Entry<I, Object> eldest = from.entrySet().iterator().next();
+			to.put(eldest.getKey(), eldest.getValue());
+			from.remove(eldest.getKey());
+		}
+
+		private static <I> void removeEldest(LinkedHashMap<I, Object> map) {
+			Iterator<Map.Entry<I, Object>> i = map.entrySet().iterator();
+			i.next();
+			i.remove();
+		}
+	}
+
+	/**
+	 * @param lambda
+	 *            the lambda to cache
+	 * @param maxEntries
+	 *            maximum number of results kept
+	 */
+	@SuppressWarnings("unchecked")
+	public MemoizedLambda(Lambda<? super I, ? extends O> lambda, int maxEntries) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("maxEntries must be >= 1");
+		this.lambda = lambda;
+		this.maxEntries = maxEntries;
+		int n = 1;
+		while (n < MAX_STRIPES && maxEntries / (2 * n) >= MIN_STRIPE_SIZE)
+			n *= 2;
+		stripes = (Stripe<I>[]) new Stripe<?>[n];
+		for (int i = 0; i < n; i++) // share the entries exactly
+			stripes[i] = new Stripe<I>(maxEntries / n + (i < maxEntries % n ? 1 : 0));
+	}
+
+	@SuppressWarnings("unchecked")
+	public O map(I arg) {
+		Stripe<I> stripe = stripe(arg);
+		Object value = stripe.get(arg);
+		if (value != null) {
+			hits.incrementAndGet();
+			return value == NULL ? null : (O) value;
+		}
+		misses.incrementAndGet();
+		O result = lambda.map(arg);
+		int evicted = stripe.put(arg, result == null ? NULL : result);
+		if (evicted > 0)
+			evictions.addAndGet(evicted);
+		return result;
+	}
+
+	private Stripe<I> stripe(I arg) {
+		if (arg == null)
+			return stripes[0];
+		int h = arg.hashCode();
+		h ^= (h >>> 16); // spread the high bits, like HashMap does
+		return stripes[h & (stripes.length - 1)];
+	}
+
+	/**
+	 * @return the number of calls answered from the cache.
+	 */
+	public long hits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of calls to the cached lambda.
+	 */
+	public long misses() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of entries evicted to respect maxEntries.
+	 */
+	public long evictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return hits / (hits + misses), or NaN before the first call.
+	 */
+	public double hitRate() {
+		long h = hits.get();
+		long total = h + misses.get();
+		return total == 0 ? Double.NaN : (double) h / total;
+	}
+
+	/**
+	 * @return the number of entries currently cached.
+	 */
+	public int size() {
+		int size = 0;
+		for (Stripe<I> stripe : stripes)
+			size += stripe.size();
+		return size;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public String toString() {
+		return String.format("%d/%d entries, %d hits, %d misses, %d evictions", size(), maxEntries, hits(), misses(), evictions());
+	}
+}
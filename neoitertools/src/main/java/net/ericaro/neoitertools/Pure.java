@@ -0,0 +1,13 @@
+package net.ericaro.neoitertools;
+
+/**
+ * Marker of a {@link Lambda} free of side effects: calling it or not does not matter, only its result does. Functions
+ * that discard items (like slice over a map) do not call it at all for the discarded items.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/Pure">Pure's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface Pure {
+
+}
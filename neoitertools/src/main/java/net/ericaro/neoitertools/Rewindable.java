@@ -0,0 +1,25 @@
+package net.ericaro.neoitertools;
+
+/**
+ * Optional capability of a {@link Generator} that can go back to a previous position from its own state, without
+ * buffering its items. Functions that would otherwise save a copy of the items (like cycle) check for it.
+ * 
+ * Works like {@link java.io.InputStream#mark(int)} and {@link java.io.InputStream#reset()}.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/Rewindable">Rewindable's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface Rewindable {
+
+	/**
+	 * remember the current position.
+	 */
+	public void mark();
+
+	/**
+	 * go back to the last marked position, or to the first item if mark() was never called.
+	 */
+	public void rewind();
+
+}
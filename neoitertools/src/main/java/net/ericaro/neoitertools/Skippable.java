@@ -0,0 +1,22 @@
+package net.ericaro.neoitertools;
+
+/**
+ * Optional capability of a {@link Generator} that can skip items faster than reading them one by one. Functions that
+ * discard items (like slice) check for it.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/Skippable">Skippable's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface Skippable {
+
+	/**
+	 * Skip the next <code>n</code> items, as if next() was called n times. Skipping beyond the end exhausts the
+	 * generator.
+	 * 
+	 * @param n
+	 *            a positive number of items to skip
+	 */
+	public void skip(long n);
+
+}
@@ -0,0 +1,228 @@
+package net.ericaro.neoitertools.generators;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Lambda;
+
+/**
+ * A {@link MapGenerator} for blocking lambdas (I/O, remote calls...): each call to the lambda runs on its own thread,
+ * up to <code>concurrency</code> calls at once, so that throughput scales with the concurrency and not with the number
+ * of cores.
+ * <p>
+ * Calls run on virtual threads when the JVM has them (Java 21+), on a pool of daemon threads otherwise (at most
+ * concurrency threads, as there are never more running calls).
+ * </p>
+ * <p>
+ * Results are returned either in the source order, or as soon as they are available. A call that takes longer than the
+ * timeout is cancelled, and next() throws a RuntimeException caused by a {@link TimeoutException} in place of its
+ * result. A cancelled call that ignores the interruption still counts in the concurrency until it returns: no other call
+ * is started in its place. Any exception thrown by the lambda is thrown back by next() in place of the result. {@link #cancel()}
+ * interrupts the pending calls when the consumer stops early.
+ * </p>
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/AsyncMapGenerator">AsyncMapGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class AsyncMapGenerator<T, K> implements Generator<K> {
+
+	private class Task extends FutureTask<K> {
+		final long start = System.nanoTime();
+
+		Task(Callable<K> callable) {
+			super(callable);
+		}
+
+		/** time left before the deadline, in nanoseconds */
+		long remaining() {
+			return timeout - (System.nanoTime() - start);
+		}
+
+		@Override
+		public void run() {
+			try {
+				super.run();
+			} finally {
+				running.release(); // even if the call was cancelled or timed out, once it is really over
+			}
+		}
+
+		@Override
+		protected void done() {
+			if (!ordered)
+				completed.add(this);
+		}
+	}
+
+	private final Lambda<? super T, K> map;
+	private final Generator<T> source;
+	private final ExecutorService executor;
+	private final int concurrency;
+	private final boolean ordered;
+	private final long timeout; // in nanoseconds, or 0 for no limit
+	private final Deque<Task> pending = new ArrayDeque<Task>(); // in submission order, so by deadline too
+	private final BlockingQueue<Task> completed = new LinkedBlockingQueue<Task>(); // unordered only
+	private final Semaphore running; // permits of the calls that are not running
+	private boolean exhausted = false;
+
+	/**
+	 * @param map
+	 * @param source
+	 * @param concurrency
+	 *            maximum number of calls to the lambda at once
+	 * @param ordered
+	 *            true to return the results in the source order, false to return them as soon as they are available
+	 * @param timeout
+	 *            maximum time for each call, 0 for no limit
+	 * @param unit
+	 *            unit of timeout
+	 */
+	public AsyncMapGenerator(Lambda<? super T, K> map, Generator<T> source, int concurrency, boolean ordered, long timeout, TimeUnit unit) {
+		if (concurrency < 1)
+			throw new IllegalArgumentException("concurrency must be >= 1");
+		this.map = map;
+		this.source = source;
+		this.concurrency = concurrency;
+		this.running = new Semaphore(concurrency);
+		this.ordered = ordered;
+		this.timeout = timeout > 0 ? unit.toNanos(timeout) : 0;
+		this.executor = newExecutor();
+	}
+
+	/**
+	 * a virtual thread per task if available (through reflection, to run on older JVMs), a thread per task otherwise.
+	 */
+	private static ExecutorService newExecutor() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (Exception e) {
+			return Executors.newCachedThreadPool(new ThreadFactory() {
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "async map");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+	}
+
+	public K next() throws NoSuchElementException {
+		Task task;
+		try {
+			fill();
+			if (pending.isEmpty())
+				throw new NoSuchElementException();
+			task = ordered ? awaitFirst() : awaitAny();
+		} catch (InterruptedException e) {
+			// give up, like YieldThread does
+			cancel();
+			Thread.currentThread().interrupt();
+			throw new NoSuchElementException();
+		}
+		if (task == null) { // the oldest call is too late
+			task = pending.poll();
+			task.cancel(true);
+			throw new RuntimeException(new TimeoutException("the lambda did not return within the timeout"));
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e); // cannot happen, the task is done
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new RuntimeException(cause);
+		}
+	}
+
+	/**
+	 * @return the oldest task once done, or null if it timed out
+	 */
+	private Task awaitFirst() throws InterruptedException {
+		Task task = pending.peek();
+		try {
+			if (timeout == 0)
+				task.get();
+			else
+				task.get(task.remaining(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			return null;
+		} catch (ExecutionException e) {
+			// done, thrown back by next()
+		}
+		return pending.poll();
+	}
+
+	/**
+	 * @return the first task done, or null if the oldest one timed out before any other was done
+	 */
+	private Task awaitAny() throws InterruptedException {
+		while (true) {
+			Task task = timeout == 0 ? completed.take() : completed.poll(pending.peek().remaining(), TimeUnit.NANOSECONDS);
+			if (task == null)
+				return null;
+			if (pending.remove(task)) // otherwise it is a task cancelled after a timeout
+				return task;
+		}
+	}
+
+	/**
+	 * read the source and start calls until the concurrency limit is reached. Calls that timed out but still run count
+	 * in the limit: wait for one of them to return if there is no pending call at all.
+	 */
+	private void fill() throws InterruptedException {
+		while (!exhausted && pending.size() < concurrency) {
+			if (pending.isEmpty())
+				running.acquire();
+			else if (!running.tryAcquire())
+				break;
+			final T t;
+			try {
+				t = source.next();
+			} catch (NoSuchElementException e) {
+				running.release();
+				exhausted = true;
+				executor.shutdown(); // the pending tasks still run
+				break;
+			}
+			Task task = new Task(new Callable<K>() {
+				public K call() throws Exception {
+					return map.map(t);
+				}
+			});
+			pending.add(task);
+			executor.execute(task);
+		}
+	}
+
+	/**
+	 * Stop reading the source and interrupt the pending calls: next() will throw a {@link NoSuchElementException} from
+	 * now on.
+	 */
+	public void cancel() {
+		exhausted = true;
+		for (Task task : pending)
+			task.cancel(true);
+		pending.clear();
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,43 @@
+package net.ericaro.neoitertools.generators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * Regroup a Generator into lists of n items, the last one may be shorter.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/BatchGenerator">BatchGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class BatchGenerator<T> implements Generator<List<T>> {
+
+	private final Generator<T> source;
+	private final int n;
+	private boolean exhausted = false;
+
+	public BatchGenerator(Generator<T> source, int n) {
+		if (n < 1)
+			throw new IllegalArgumentException("n must be >= 1");
+		this.source = source;
+		this.n = n;
+	}
+
+	public List<T> next() throws NoSuchElementException {
+		if (exhausted)
+			throw new NoSuchElementException();
+		List<T> batch = new ArrayList<T>(n);
+		try {
+			while (batch.size() < n)
+				batch.add(source.next());
+		} catch (NoSuchElementException e) {
+			exhausted = true;
+			if (batch.isEmpty())
+				throw e;
+		}
+		return batch;
+	}
+}
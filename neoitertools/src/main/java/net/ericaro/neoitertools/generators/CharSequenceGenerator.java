@@ -2,7 +2,10 @@ package net.ericaro.neoitertools.generators;
 
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
 
 
 /** A Generator of Character read from any {@link CharSequence}. 
@@ -13,10 +16,11 @@ import net.ericaro.neoitertools.Generator;
  * @see <a href="http://code.google.com/p/neoitertools/wiki/CharSequenceGenerator">CharSequenceGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class CharSequenceGenerator implements Generator<Character>{
+public class CharSequenceGenerator implements Generator<Character>, Rewindable, Copyable<Character>, Skippable {
 	
 	private CharSequence seq;
 	private int i;
+	private int mark;
 
 	public CharSequenceGenerator(CharSequence seq) {
 		this.seq = seq;
@@ -28,6 +32,25 @@ public class CharSequenceGenerator implements Generator<Character>{
 		return seq.charAt(i++);
 	}
 
+	public void skip(long n) {
+		int length = seq.length();
+		i = n >= length - i ? length : i + (int) n;
+	}
+
+	public void mark() {
+		mark = i;
+	}
+
+	public void rewind() {
+		i = mark;
+	}
+
+	public CharSequenceGenerator copy() {
+		CharSequenceGenerator copy = new CharSequenceGenerator(seq);
+		copy.i = copy.mark = i;
+		return copy;
+	}
+
 	
 	
 	
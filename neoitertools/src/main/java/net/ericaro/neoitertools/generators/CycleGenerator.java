@@ -1,16 +1,19 @@
 package net.ericaro.neoitertools.generators;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.NoSuchElementException;
 
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
 
 /**
  * Make a Generator returning elements from the Generator and saving a copy of
  * each. When the Generator is exhausted, return elements from the saved copy.
  * Repeats indefinitely.
  * 
+ * The copy is kept in an array, read by index. If the Generator is
+ * {@link Rewindable} nothing is saved at all: it is rewound at the end of each
+ * lap.
+ * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/CycleGenerator">CycleGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
@@ -18,56 +21,81 @@ import net.ericaro.neoitertools.Generator;
 public class CycleGenerator<T> implements Generator<T> {
 
 	private Generator<T> generator;
-	private List<T> list;
-	private boolean isEmpty;
+	private Rewindable rewindable; // or null if the items must be saved
+	private boolean lapEmpty = true; // nothing was returned since the last rewind
+	private Object[] saved;
+	private int size;
+	private int i;
 	private boolean firstPass;
 
 	public CycleGenerator(Generator<T> generator) {
 		this.generator = generator;
-		this.list = new LinkedList<T>();
+		if (generator instanceof Rewindable) {
+			rewindable = (Rewindable) generator;
+			rewindable.mark();
+		} else
+			saved = new Object[16];
 		firstPass = true;
 	}
 
-
 	public T next() {
+		if (rewindable != null)
+			return rewindNext();
 		if (firstPass)
 			return firstNexts();
 		else
 			return otherNexts();
 	}
 
+	private T rewindNext() {
+		try {
+			T t = generator.next();
+			lapEmpty = false;
+			return t;
+		} catch (NoSuchElementException e) {
+			if (lapEmpty)
+				throw e; // avoid infinite loop
+			rewindable.rewind();
+			lapEmpty = true;
+			return rewindNext();
+		}
+	}
+
 	/**
 	 * until the "source" is not exhausted, "next" goes this way
 	 * 
 	 * @return
 	 */
 	private T firstNexts() {
-		try{
+		try {
 			T t = generator.next();
-			list.add(t);
+			if (size == saved.length) {
+				Object[] old = saved;
+				saved = new Object[old.length * 2];
+				System.arraycopy(old, 0, saved, 0, size);
+			}
+			saved[size++] = t;
 			return t;
-		}catch( NoSuchElementException e){
-			// we reached the end of the first nexts, calling back the top level
+		} catch (NoSuchElementException e) {
+			// we reached the end of the first nexts
 			firstPass = false;
-			// method to go to the right method now
-			return next();
+			generator = null; // release it
+			return otherNexts();
 		}
 	}
 
 	/**
-	 * the initial iterator is exhausted, use the list one for now on.
+	 * the initial generator is exhausted, loop over the saved items for now on.
 	 * 
 	 * @return
 	 */
+	@SuppressWarnings("unchecked")
 	private T otherNexts() {
-		// the field "iterator" for now on, will be an iterator over the list
-		try{
-			return generator.next();
-		}catch( NoSuchElementException e){
-			generator = new IteratorGenerator<T>(list.iterator());
-			if (list.isEmpty()) throw new NoSuchElementException() ;//avoid infinite recursion
-			return next();
-		}
+		if (size == 0)
+			throw new NoSuchElementException();
+		if (i == size)
+			i = 0;
+		return (T) saved[i++];
 	}
 
 }
@@ -4,6 +4,8 @@ import java.util.NoSuchElementException;
 
 import net.ericaro.neoitertools.Generator;
 import net.ericaro.neoitertools.Index;
+import net.ericaro.neoitertools.Itertools;
+import net.ericaro.neoitertools.Skippable;
 
 /** convert a generator of T into a generator if Index<Integer,T> to enumerate items.
  * 
@@ -11,7 +13,7 @@ import net.ericaro.neoitertools.Index;
  * @see <a href="http://code.google.com/p/neoitertools/wiki/EnumerateGenerator">EnumerateGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class EnumerateGenerator<T> implements Generator<Index<T>> {
+public class EnumerateGenerator<T> implements Generator<Index<T>>, Skippable {
 
 	
 	Generator<T> source;
@@ -32,6 +34,10 @@ public class EnumerateGenerator<T> implements Generator<Index<T>> {
 		return new Index<T>(i++, source.next());
 	}
 
+	public void skip(long n) {
+		i += Itertools.skip(source, n);
+	}
+
 	
 	
 }
@@ -15,13 +15,13 @@ public class GeneratorIterator<T> implements Iterator<T> {
 
 	Generator<T> source;
 	boolean hasNext ;
+	boolean fetched ; // next is read from the source only when needed, reused items stay valid during the loop
 	T next;
 	
 	public GeneratorIterator(Generator<T> source) {
 		super();
 		this.source = source;
 		hasNext = true;
-		innerNext();
 	}
 
 	
@@ -33,23 +33,24 @@ public class GeneratorIterator<T> implements Iterator<T> {
 		} catch (NoSuchElementException e) {
 			hasNext = false;
 		}
+		fetched = true;
 	}
 
 
 
 	public boolean hasNext() {
+		if (!fetched && hasNext) innerNext();
 		return hasNext;
 	}
 
 	
 	
 	public T next() {
-		try{
-			return next;
-		}
-		finally{
-			innerNext() ;
-		}
+		if (!hasNext()) throw new NoSuchElementException();
+		fetched = false;
+		T t = next;
+		next = null;
+		return t;
 	}
 
 	public void remove() {throw new UnsupportedOperationException();}
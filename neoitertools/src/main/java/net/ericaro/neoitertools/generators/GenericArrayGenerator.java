@@ -2,7 +2,10 @@ package net.ericaro.neoitertools.generators;
 
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
 
 /** A {@link Generator} based on any Object Type array.
  * 
@@ -11,10 +14,11 @@ import net.ericaro.neoitertools.Generator;
  * @see <a href="http://code.google.com/p/neoitertools/wiki/GenericArrayGenerator">GenericArrayGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class GenericArrayGenerator<T> implements Generator<T> {
+public class GenericArrayGenerator<T> implements Generator<T>, Rewindable, Copyable<T>, Skippable {
 
 	private T[] values;
 	private int i;
+	private int mark;
 
 	public GenericArrayGenerator(T... values) {
 		super();
@@ -26,6 +30,24 @@ public class GenericArrayGenerator<T> implements Generator<T> {
 		if (i>= values.length) throw new NoSuchElementException();
 		return values[i++];
 	}
+
+	public void skip(long n) {
+		i = n >= values.length - i ? values.length : i + (int) n;
+	}
+
+	public void mark() {
+		mark = i;
+	}
+
+	public void rewind() {
+		i = mark;
+	}
+
+	public GenericArrayGenerator<T> copy() {
+		GenericArrayGenerator<T> copy = new GenericArrayGenerator<T>(values);
+		copy.i = copy.mark = i;
+		return copy;
+	}
 	
 	
 
@@ -0,0 +1,35 @@
+package net.ericaro.neoitertools.generators;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Pair;
+
+/**
+ * Successive overlapping pairs taken from the source: (s0, s1), (s1, s2), (s2, s3) ...
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/PairwiseGenerator">PairwiseGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class PairwiseGenerator<T> implements Generator<Pair<T, T>> {
+
+	private final Generator<T> source;
+	private T previous;
+	private boolean started = false;
+
+	public PairwiseGenerator(Generator<T> source) {
+		this.source = source;
+	}
+
+	public Pair<T, T> next() throws NoSuchElementException {
+		if (!started) {
+			previous = source.next();
+			started = true;
+		}
+		T current = source.next();
+		Pair<T, T> pair = new Pair<T, T>(previous, current);
+		previous = current;
+		return pair;
+	}
+}
@@ -0,0 +1,135 @@
+package net.ericaro.neoitertools.generators;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Lambda;
+
+/**
+ * A {@link MapGenerator} that applies the mapping {@link Lambda} on an {@link Executor}, several items at a time.
+ * <p>
+ * The source is read ahead, up to <code>window</code> items are being mapped (or waiting to be returned) at any time,
+ * so memory stays flat whatever the length of the source. Results are returned in the source order. If the lambda throws
+ * an exception for an item, it is thrown back by the call to next() for that item, and the following items are still
+ * available.
+ * </p>
+ * <p>
+ * The source is read by the caller thread, the lambda is called concurrently from the executor threads.
+ * </p>
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/ParallelMapGenerator">ParallelMapGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class ParallelMapGenerator<T, K> implements Generator<K> {
+
+	private final Lambda<? super T, K> map;
+	private final Generator<T> source;
+	private final Executor executor;
+	private final boolean owned; // the executor was created for this generator, shut it down at the end
+	private final int window;
+	private final Deque<FutureTask<K>> tasks = new ArrayDeque<FutureTask<K>>();
+	private boolean exhausted = false;
+
+	/**
+	 * @param map
+	 * @param source
+	 * @param executor
+	 *            where the lambda is run
+	 * @param window
+	 *            maximum number of items being mapped at once
+	 */
+	public ParallelMapGenerator(Lambda<? super T, K> map, Generator<T> source, Executor executor, int window) {
+		this(map, source, executor, window, false);
+	}
+
+	/**
+	 * Run the lambda on a dedicated {@link ForkJoinPool}, shut down once the source is exhausted.
+	 * 
+	 * @param map
+	 * @param source
+	 * @param parallelism
+	 *            number of threads of the pool
+	 * @param window
+	 *            maximum number of items being mapped at once
+	 */
+	public ParallelMapGenerator(Lambda<? super T, K> map, Generator<T> source, int parallelism, int window) {
+		this(map, source, new ForkJoinPool(parallelism), window, true);
+	}
+
+	private ParallelMapGenerator(Lambda<? super T, K> map, Generator<T> source, Executor executor, int window, boolean owned) {
+		if (window < 1)
+			throw new IllegalArgumentException("window must be >= 1");
+		this.map = map;
+		this.source = source;
+		this.executor = executor;
+		this.window = window;
+		this.owned = owned;
+	}
+
+	public K next() throws NoSuchElementException {
+		fill();
+		FutureTask<K> task = tasks.poll();
+		if (task == null)
+			throw new NoSuchElementException();
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			// give up, like YieldThread does
+			cancel();
+			Thread.currentThread().interrupt();
+			throw new NoSuchElementException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new RuntimeException(cause);
+		}
+	}
+
+	/**
+	 * read the source and submit tasks until the window is full.
+	 */
+	private void fill() {
+		while (!exhausted && tasks.size() < window) {
+			final T t;
+			try {
+				t = source.next();
+			} catch (NoSuchElementException e) {
+				exhausted = true;
+				if (owned)
+					((ExecutorService) executor).shutdown(); // the pending tasks still run
+				break;
+			}
+			FutureTask<K> task = new FutureTask<K>(new Callable<K>() {
+				public K call() throws Exception {
+					return map.map(t);
+				}
+			});
+			executor.execute(task); // first: a rejected task must not be waited for
+			tasks.add(task);
+		}
+	}
+
+	/**
+	 * Stop reading the source, cancel the pending tasks: next() will throw a {@link NoSuchElementException} from now on.
+	 */
+	public void cancel() {
+		exhausted = true;
+		for (FutureTask<K> task : tasks)
+			task.cancel(true);
+		tasks.clear();
+		if (owned)
+			((ExecutorService) executor).shutdownNow();
+	}
+}
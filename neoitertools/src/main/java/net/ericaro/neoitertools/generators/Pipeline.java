@@ -0,0 +1,184 @@
+package net.ericaro.neoitertools.generators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Lambda;
+
+/**
+ * Runs a chain of generators (map, filter, enumerate, groupby...) with one thread per stage, so that a sequential,
+ * order dependent chain still uses several cores.
+ * <p>
+ * A stage is a function from the generator of the previous stage to a new generator, for instance
+ * <code>map(f, input)</code>. {@link #stage(String, Lambda)} starts a new thread for the stage, {@link #then(Lambda)}
+ * runs the stage on the same thread as the previous one, to group cheap stages together. Stages running on different
+ * threads are connected by a {@link PrefetchGenerator} carrying batches of items, to amortize the synchronization.
+ * </p>
+ * <p>
+ * Threads start on the first call to next(). Their utilization, the part of the time spent working rather than
+ * waiting for the neighbour stages, tells which stage to split or merge.
+ * </p>
+ * 
+ * <pre>
+ * Pipeline&lt;Record&gt; records = new Pipeline&lt;String&gt;(lines, 64, 16).stage(&quot;parse&quot;, parse).then(validate).stage(&quot;score&quot;, score);
+ * for (Record r : in(records)) ...
+ * System.out.println(records.stages());
+ * </pre>
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/Pipeline">Pipeline's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class Pipeline<T> implements Generator<T> {
+
+	/**
+	 * A group of stages running on the same thread, with the buffer it writes to.
+	 */
+	public static class Stage {
+		private final String name;
+		private final Stage previous; // the thread feeding this one, or null
+		private volatile PrefetchGenerator<?> output; // null until started
+		private volatile long start;
+		volatile long items = 0; // written by the consumer of output only
+
+		Stage(String name, Stage previous) {
+			this.name = name;
+			this.previous = previous;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the number of items produced so far.
+		 */
+		public long items() {
+			return items;
+		}
+
+		/**
+		 * @return the part of the time spent working since the start of the thread, in [0, 1]: the time waiting for
+		 *         the previous stage or for the next one does not count.
+		 */
+		public double utilization() {
+			PrefetchGenerator<?> output = this.output;
+			if (output == null)
+				return 0d;
+			long elapsed = System.nanoTime() - start;
+			long blocked = output.producerBlockedNanos();
+			if (previous != null && previous.output != null)
+				blocked += previous.output.consumerBlockedNanos();
+			return elapsed <= 0 ? 0d : Math.max(0d, 1d - (double) blocked / elapsed);
+		}
+
+		public String toString() {
+			return String.format("%s: %d items, %.0f%% busy", name, items, 100 * utilization());
+		}
+	}
+
+	/**
+	 * The consumer side of a stage: lazily starts its thread, and unpacks the batches.
+	 */
+	private static class Boundary<T> implements Generator<T> {
+		private final Generator<T> upstream;
+		private final Stage stage;
+		private final int batch;
+		private final int capacity;
+		private PrefetchGenerator<List<T>> buffer;
+		private List<T> current = Collections.emptyList();
+		private int i = 0;
+
+		Boundary(Generator<T> upstream, Stage stage, int batch, int capacity) {
+			this.upstream = upstream;
+			this.stage = stage;
+			this.batch = batch;
+			this.capacity = capacity;
+		}
+
+		public T next() throws NoSuchElementException {
+			if (buffer == null) {
+				stage.start = System.nanoTime();
+				buffer = new PrefetchGenerator<List<T>>(new BatchGenerator<T>(upstream, batch), capacity);
+				stage.output = buffer;
+			}
+			if (i == current.size()) {
+				current = buffer.next();
+				i = 0;
+			}
+			stage.items++;
+			return current.get(i++);
+		}
+	}
+
+	private final Generator<T> output;
+	private final List<Stage> stages;
+	private final int batch;
+	private final int capacity;
+	private Generator<T> last; // reads the last stage
+
+	/**
+	 * @param source
+	 *            the first generator of the chain, it is read by the thread of the first stage
+	 * @param batch
+	 *            number of items exchanged at once between two threads
+	 * @param capacity
+	 *            maximum number of batches waiting between two threads
+	 */
+	public Pipeline(Generator<T> source, int batch, int capacity) {
+		this(source, new ArrayList<Stage>(), batch, capacity);
+	}
+
+	private Pipeline(Generator<T> output, List<Stage> stages, int batch, int capacity) {
+		if (batch < 1 || capacity < 1)
+			throw new IllegalArgumentException("batch and capacity must be >= 1");
+		this.output = output;
+		this.stages = stages;
+		this.batch = batch;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Add a stage running on its own thread.
+	 * 
+	 * @param name
+	 *            the name of the stage, in the statistics
+	 * @param stage
+	 *            builds the generator of the stage from the generator of the previous one
+	 * @return the pipeline ending with this stage. This pipeline must not be used anymore.
+	 */
+	public <K> Pipeline<K> stage(String name, Lambda<? super Generator<T>, Generator<K>> stage) {
+		Generator<T> input = output;
+		if (!stages.isEmpty()) // read the previous stage through a buffer
+			input = new Boundary<T>(output, stages.get(stages.size() - 1), batch, capacity);
+		stages.add(new Stage(name, stages.isEmpty() ? null : stages.get(stages.size() - 1)));
+		return new Pipeline<K>(stage.map(input), stages, batch, capacity);
+	}
+
+	/**
+	 * Add a stage running on the same thread as the previous one.
+	 * 
+	 * @param stage
+	 *            builds the generator of the stage from the generator of the previous one
+	 * @return the pipeline ending with this stage. This pipeline must not be used anymore.
+	 */
+	public <K> Pipeline<K> then(Lambda<? super Generator<T>, Generator<K>> stage) {
+		return new Pipeline<K>(stage.map(output), stages, batch, capacity);
+	}
+
+	/**
+	 * @return the statistics of each thread, from the first stage to the last.
+	 */
+	public List<Stage> stages() {
+		return Collections.unmodifiableList(stages);
+	}
+
+	public T next() throws NoSuchElementException {
+		if (last == null)
+			last = stages.isEmpty() ? output : new Boundary<T>(output, stages.get(stages.size() - 1), batch, capacity);
+		return last.next();
+	}
+}
@@ -0,0 +1,196 @@
+package net.ericaro.neoitertools.generators;
+
+import java.lang.ref.WeakReference;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * A Generator that reads its source ahead on a background thread, so that the source and the consumer run at the same
+ * time on two cores.
+ * <p>
+ * Items are exchanged through a lock-free single producer single consumer ring buffer of <code>capacity</code> items:
+ * the producer thread blocks when it is full, the consumer when it is empty. An exception thrown by the source is
+ * thrown back by next() once the items read before it have been consumed.
+ * </p>
+ * <p>
+ * The producer thread stops when the source is exhausted, when {@link #cancel()} is called, or when this generator is
+ * garbage collected (like {@link YieldThread}).
+ * </p>
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/PrefetchGenerator">PrefetchGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class PrefetchGenerator<T> implements Generator<T> {
+
+	private static final long PARK = 100000000L; // 100ms, to check if the consumer is still there
+
+	/**
+	 * state shared by the two threads. Only the producer writes tail, only the consumer writes head.
+	 */
+	private static class Ring {
+		final Object[] items;
+		final int mask;
+		final AtomicLong head = new AtomicLong(); // next position to read
+		final AtomicLong tail = new AtomicLong(); // next position to write
+		volatile boolean done = false; // the producer will not write anymore
+		volatile Throwable error; // thrown by the source
+		volatile boolean cancelled = false;
+		volatile Thread consumer; // set while the consumer is parked
+		volatile boolean producerParked = false;
+		volatile long producerBlocked = 0; // nanoseconds spent waiting for room, written by the producer only
+		volatile long consumerBlocked = 0; // nanoseconds spent waiting for items, written by the consumer only
+
+		Ring(int capacity) {
+			int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1; // a power of two >= capacity
+			items = new Object[size];
+			mask = size - 1;
+		}
+	}
+
+	private static class Producer<T> extends Thread {
+		private final Ring ring;
+		private final Generator<T> source;
+		private final WeakReference<Object> generatorReference;
+
+		Producer(Ring ring, Generator<T> source, Object generator) {
+			super("prefetch-thread");
+			setDaemon(true);
+			this.ring = ring;
+			this.source = source;
+			this.generatorReference = new WeakReference<Object>(generator);
+		}
+
+		public void run() {
+			try {
+				while (!ring.cancelled) {
+					T t = source.next();
+					if (ring.cancelled) // do not publish it, the consumer may be gone
+						return;
+					long tail = ring.tail.get();
+					while (tail - ring.head.get() == ring.items.length) { // full
+						ring.producerParked = true;
+						if (tail - ring.head.get() == ring.items.length) { // check again, the consumer may have missed the flag
+							long start = System.nanoTime();
+							LockSupport.parkNanos(this, PARK);
+							ring.producerBlocked += System.nanoTime() - start;
+						}
+						ring.producerParked = false;
+						if (ring.cancelled || generatorReference.get() == null)
+							return;
+					}
+					ring.items[(int) tail & ring.mask] = t;
+					ring.tail.set(tail + 1); // publish the item, a volatile write so that the consumer flag read after it is fresh
+					wakeConsumer();
+				}
+			} catch (NoSuchElementException e) {
+				// the end
+			} catch (Throwable e) {
+				if (!ring.cancelled) // otherwise it is likely caused by the interruption
+					ring.error = e;
+			} finally {
+				ring.done = true;
+				wakeConsumer();
+			}
+		}
+
+		private void wakeConsumer() {
+			Thread consumer = ring.consumer;
+			if (consumer != null)
+				LockSupport.unpark(consumer);
+		}
+	}
+
+	private final Ring ring;
+	private final Producer<T> producer;
+
+	/**
+	 * @param source
+	 *            the generator to read on a background thread
+	 * @param capacity
+	 *            maximum number of items read ahead
+	 */
+	public PrefetchGenerator(Generator<T> source, int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("capacity must be >= 1");
+		ring = new Ring(capacity);
+		producer = new Producer<T>(ring, source, this);
+		producer.start();
+	}
+
+	public T next() throws NoSuchElementException {
+		long head = ring.head.get();
+		while (head == ring.tail.get()) { // empty
+			if (ring.done || ring.cancelled) {
+				if (head == ring.tail.get()) { // and not the last items published before done
+					if (ring.done)
+						throwError();
+					throw new NoSuchElementException();
+				}
+				break;
+			}
+			ring.consumer = Thread.currentThread();
+			if (head == ring.tail.get() && !ring.done && !ring.cancelled) { // check again, the producer may have missed the consumer
+				long start = System.nanoTime();
+				LockSupport.park(this);
+				ring.consumerBlocked += System.nanoTime() - start;
+			}
+			ring.consumer = null;
+			if (Thread.interrupted()) {
+				// give up, like YieldThread does
+				cancel();
+				Thread.currentThread().interrupt();
+				throw new NoSuchElementException();
+			}
+		}
+		int i = (int) head & ring.mask;
+		@SuppressWarnings("unchecked")
+		T t = (T) ring.items[i];
+		ring.items[i] = null; // release it
+		ring.head.set(head + 1);
+		if (ring.producerParked)
+			LockSupport.unpark(producer);
+		return t;
+	}
+
+	private void throwError() {
+		Throwable error = ring.error;
+		if (error == null)
+			return;
+		ring.error = null; // only once, then the generator is exhausted
+		if (error instanceof RuntimeException)
+			throw (RuntimeException) error;
+		if (error instanceof Error)
+			throw (Error) error;
+		throw new RuntimeException(error);
+	}
+
+	/**
+	 * @return the time the producer thread spent waiting for room in the buffer, in nanoseconds.
+	 */
+	public long producerBlockedNanos() {
+		return ring.producerBlocked;
+	}
+
+	/**
+	 * @return the time the consumer spent waiting for items, in nanoseconds.
+	 */
+	public long consumerBlockedNanos() {
+		return ring.consumerBlocked;
+	}
+
+	/**
+	 * Stop the producer thread: next() will return the items already read, then throw a {@link NoSuchElementException}.
+	 * The producer thread is interrupted, in case the source is blocked.
+	 */
+	public void cancel() {
+		ring.cancelled = true;
+		producer.interrupt();
+		Thread consumer = ring.consumer; // cancelled from another thread
+		if (consumer != null)
+			LockSupport.unpark(consumer);
+	}
+}
@@ -0,0 +1,96 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+
+/**
+ * Cartesian product where the first factor is streamed: it is read one item at a time, and the product of the other
+ * factors (the tail) is replayed for each of them. Only the tail is stored, so product(hugeStream, smallA, smallB) runs in
+ * memory proportional to smallA and smallB.
+ * 
+ * {@link Rewindable} tail factors are not even stored, they are rewound instead.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/ProductGenerator">ProductGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class ProductGenerator<T> implements Generator<List<T>> {
+
+	private final Generator<T> head;
+	private final Generator<?>[] tail;
+	private final Object[] current; // current item of the head, then of each tail factor
+	private boolean started = false;
+	private boolean exhausted = false;
+
+	/**
+	 * @param head
+	 *            the first factor, streamed
+	 * @param tail
+	 *            the other factors, read over and over
+	 */
+	public ProductGenerator(Generator<T> head, List<Generator<T>> tail) {
+		this.head = head;
+		this.tail = new Generator<?>[tail.size()];
+		int i = 0;
+		for (Generator<T> g : tail) {
+			if (!(g instanceof Rewindable)) // store it
+				g = new GenericArrayGenerator<T>(toArray(list(g)));
+			((Rewindable) g).mark();
+			this.tail[i++] = g;
+		}
+		this.current = new Object[tail.size() + 1];
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T[] toArray(List<T> list) {
+		return (T[]) list.toArray();
+	}
+
+	public List<T> next() throws NoSuchElementException {
+		if (exhausted)
+			throw new NoSuchElementException();
+		try {
+			if (!started) {
+				// fill the tail first: an empty tail factor means an empty product, whatever the head
+				for (int i = 0; i < tail.length; i++)
+					current[i + 1] = tail[i].next();
+				current[0] = head.next();
+				started = true;
+			} else
+				inc();
+		} catch (NoSuchElementException e) {
+			exhausted = true; // inc() has already rewound the tail, do not start over
+			throw e;
+		}
+		List<T> items = new ArrayList<T>(current.length);
+		for (Object o : current) {
+			@SuppressWarnings("unchecked")
+			T t = (T) o;
+			items.add(t);
+		}
+		return items;
+	}
+
+	/**
+	 * move to the next tuple, like an odometer: the last factor moves first, an exhausted factor is rewound and moves
+	 * the previous one.
+	 */
+	private void inc() throws NoSuchElementException {
+		for (int i = tail.length - 1; i >= 0; i--) {
+			try {
+				current[i + 1] = tail[i].next();
+				return;
+			} catch (NoSuchElementException e) {
+				((Rewindable) tail[i]).rewind();
+				current[i + 1] = tail[i].next();
+			}
+		}
+		current[0] = head.next();
+	}
+}
@@ -0,0 +1,129 @@
+package net.ericaro.neoitertools.generators;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Itertools;
+import net.ericaro.neoitertools.Skippable;
+
+/**
+ * A Generator that counts the items it returns out of a known total, so that another thread can poll its progress,
+ * rate and remaining time, or cancel it.
+ * 
+ * Only one thread is expected to call next(), any thread can call the other methods.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/ProgressGenerator">ProgressGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class ProgressGenerator<T> implements Generator<T>, Skippable {
+
+	private final Generator<T> source;
+	private final BigInteger count;
+	private long items = 0; // only read and written by the next() thread
+	private final AtomicLong emitted = new AtomicLong(); // published copy of items, for the other threads
+	private long jumped = 0; // skipped items, only read and written by the next() thread
+	private final AtomicLong skipped = new AtomicLong(); // published copy of jumped
+	private volatile long start; // System.nanoTime() of the first next
+	private volatile boolean started = false;
+	private volatile boolean cancelled = false;
+
+	/**
+	 * @param source
+	 * @param count
+	 *            the number of items source will return, or null if unknown
+	 */
+	public ProgressGenerator(Generator<T> source, BigInteger count) {
+		this.source = source;
+		this.count = count;
+	}
+
+	public T next() throws NoSuchElementException {
+		if (!started) {
+			start = System.nanoTime();
+			started = true;
+		}
+		if (cancelled)
+			throw new NoSuchElementException();
+		T t = source.next();
+		emitted.lazySet(++items); // no need for a full fence, pollers can read a slightly stale value
+		return t;
+	}
+
+	/** skipped items count in the progress, not in the rate: they did not cost the time of returned ones.
+	 */
+	public void skip(long n) {
+		if (cancelled)
+			return;
+		jumped += Itertools.skip(source, n);
+		if (count != null && count.compareTo(BigInteger.valueOf(items + jumped)) < 0) // a skippable source always reports n
+			jumped = count.longValue() - items;
+		skipped.lazySet(jumped);
+	}
+
+	/**
+	 * @return the total number of items, or null if unknown.
+	 */
+	public BigInteger count() {
+		return count;
+	}
+
+	/**
+	 * @return the number of items returned so far.
+	 */
+	public long emitted() {
+		return emitted.get();
+	}
+
+	/**
+	 * @return the number of items skipped so far.
+	 */
+	public long skipped() {
+		return skipped.get();
+	}
+
+	/**
+	 * @return (emitted + skipped) / count, in [0, 1], or NaN if the count is unknown.
+	 */
+	public double progress() {
+		if (count == null)
+			return Double.NaN;
+		if (count.signum() == 0)
+			return 1d;
+		return (emitted() + skipped()) / count.doubleValue();
+	}
+
+	/**
+	 * @return the average number of items returned per second, since the first one. Skipped items do not count.
+	 */
+	public double rate() {
+		if (!started)
+			return 0d;
+		long elapsed = System.nanoTime() - start;
+		return elapsed <= 0 ? 0d : emitted() * 1e9d / elapsed;
+	}
+
+	/**
+	 * @return the estimated time to return the remaining items, in milliseconds, at the current rate, or -1 if it cannot be
+	 *         estimated yet.
+	 */
+	public long eta() {
+		double rate = rate();
+		if (rate == 0d || count == null)
+			return -1;
+		double remaining = count.doubleValue() - emitted() - skipped();
+		return (long) (Math.max(remaining, 0d) * 1000d / rate);
+	}
+
+	/** Stops this generator: next() will throw a {@link NoSuchElementException} from now on.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+}
@@ -0,0 +1,32 @@
+package net.ericaro.neoitertools.generators;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Itertools;
+import net.ericaro.neoitertools.Lambda;
+import net.ericaro.neoitertools.Pure;
+import net.ericaro.neoitertools.Skippable;
+
+/**
+ * A {@link MapGenerator} for a {@link Pure} mapping function: skipped items are not mapped at all, the source is
+ * skipped directly.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/PureMapGenerator">PureMapGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class PureMapGenerator<T, K> extends MapGenerator<T, K> implements Skippable {
+
+	/**
+	 * @param map
+	 *            a mapping function free of side effects, usually a {@link Pure} one
+	 * @param source
+	 */
+	public PureMapGenerator(Lambda<? super T, K> map, Generator<T> source) {
+		super(map, source);
+	}
+
+	public void skip(long n) {
+		Itertools.skip(source, n);
+	}
+
+}
@@ -3,7 +3,11 @@ package net.ericaro.neoitertools.generators;
 import java.security.InvalidParameterException;
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.IntSource;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
 
 /**
  * This is a versatile Generator containing arithmetic progressions. It is most
@@ -23,10 +27,11 @@ import net.ericaro.neoitertools.Generator;
  * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  * 
  */
-public class RangeGenerator implements Generator<Integer> {
+public class RangeGenerator implements Generator<Integer>, IntSource, Rewindable, Copyable<Integer>, Skippable {
 	private final int step;
 	private final int end;
 	int i;
+	private int mark;
 
 	public RangeGenerator(int start, int end) {
 		this(start, end, 1);
@@ -41,10 +46,14 @@ public class RangeGenerator implements Generator<Integer> {
 			throw new InvalidParameterException("step must be != 0");
 		this.step = step;
 		this.end = end;
-		i = start;
+		i = mark = start;
 	}
 
 	public Integer next() {
+		return nextInt();
+	}
+
+	public int nextInt() {
 		if (step > 0 ? i >= end : i <= end)
 			throw new NoSuchElementException();
 		int j = i;
@@ -52,4 +61,34 @@ public class RangeGenerator implements Generator<Integer> {
 		return j;
 	}
 
-}
\ No newline at end of file
+	public int drain(int[] buffer, int offset, int length) {
+		int n = 0;
+		while (n < length && (step > 0 ? i < end : i > end)) {
+			buffer[offset + n++] = i;
+			i += step;
+		}
+		return n;
+	}
+
+	public void skip(long n) {
+		// number of items left, computed in long to avoid overflows
+		long left = step > 0 ? ((long) end - i + step - 1) / step : ((long) i - end - step - 1) / -step;
+		if (n >= left)
+			i = end; // exhausted
+		else
+			i += n * step;
+	}
+
+	public void mark() {
+		mark = i;
+	}
+
+	public void rewind() {
+		i = mark;
+	}
+
+	public RangeGenerator copy() {
+		return new RangeGenerator(i, end, step);
+	}
+
+}
@@ -0,0 +1,29 @@
+package net.ericaro.neoitertools.generators;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A compact unmodifiable list over an array, used as zip tuples.
+ * 
+ * @author eric
+ */
+class Row<T> extends AbstractList<T> implements RandomAccess {
+
+	final Object[] items;
+
+	Row(int size) {
+		items = new Object[size];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		return (T) items[index];
+	}
+
+	@Override
+	public int size() {
+		return items.length;
+	}
+}
@@ -3,6 +3,7 @@ package net.ericaro.neoitertools.generators;
 import java.util.NoSuchElementException;
 
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Itertools;
 
 /**
  * a Generator that returns selected elements from the Generator. If start is
@@ -11,6 +12,8 @@ import net.ericaro.neoitertools.Generator;
  * one which results in items being skipped. It stops at the specified position.
  * slice() does not support negative values for start, stop, or step.
  * 
+ * Skipped elements are not read from a {@link net.ericaro.neoitertools.Skippable} Generator, it jumps instead.
+ * 
  * @author eric
  * 
  * @see <a href="http://code.google.com/p/neoitertools/wiki/SliceGenerator">SliceGenerator's wiki page</a>
@@ -21,40 +24,31 @@ public class SliceGenerator<T> implements Generator<T> {
 	private final Generator<T> source;
 	private final int stop;
 	int i;
-	T next;
 
 	public SliceGenerator(Generator<T> sequence, int start, int stop, int step) {
 		this.source = sequence;
 		this.step = step;
 		this.stop = stop;
 		i = 0;
-		try {
-			while (i < start ) {
-				sequence.next();
-				i++;
-			}
-		} catch (NoSuchElementException e) {}
+		if (start > 0)
+			i = (int) Itertools.skip(sequence, start);
 	}
 
 	public T next() {
 		if (i >= stop ) throw new NoSuchElementException() ;
 		
 		T current = source.next();
-		// now move to the next -1 one
+		// now move to the next one, without going beyond stop
 		int k = i;
 		i++;
-		
-		try {
-			while (i < k + step && i < stop ) { // consume has
-												// much as
-				// possible
-				i++;
-				next = source.next();// consume item
-			}
-		} catch (NoSuchElementException e) {
-			i = stop;// to make sure I will stop
-		} // ignored as I was trying to move to the next item
+		long n = Math.min((long) k + step, stop) - i;
+		if (n > 0) {
+			if (Itertools.skip(source, n) < n)
+				i = stop;// to make sure I will stop
+			else
+				i += n;
+		}
 		return current;
 
 	}
-}
\ No newline at end of file
+}
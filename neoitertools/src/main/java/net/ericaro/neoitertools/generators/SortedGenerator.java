@@ -0,0 +1,185 @@
+package net.ericaro.neoitertools.generators;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * A Generator that returns the source items in sorted order, sorting them
+ * lazily: each call to next() only partitions what is needed to find the next
+ * smallest item (incremental quicksort). Getting the first k items costs
+ * O(n + k log k) instead of O(n log n), so a consumer that stops early (through
+ * slice, takewhile...) only pays for the prefix it actually read.
+ *
+ * The source is fully read on the first call to next(). The sort is stable:
+ * equal items are returned in their source order (or the reverse order when
+ * built reversed: the result is exactly the sorted sequence reversed).
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/SortedGenerator">SortedGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class SortedGenerator<T> implements Generator<T> {
+
+	// under this size a segment is sorted at once using an insertion sort
+	private static final int INSERTION_THRESHOLD = 16;
+
+	private Generator<T> source;
+	private final Comparator<? super T> cmp;
+	private final boolean reverse;
+
+	private Object[] items;
+	private int[] order; // source position of each item, used to break ties
+	private int size;
+	private int i; // index of the next item to return
+
+	// stack of pivot positions: everything before stack[top] is <= to everything after
+	private int[] stack;
+	private int top;
+
+	public SortedGenerator(Generator<T> source, Comparator<? super T> cmp) {
+		this(source, cmp, false);
+	}
+
+	/**
+	 * @param source
+	 * @param cmp
+	 * @param reverse
+	 *            true to return the items from the greatest to the smallest, equal items in reverse source order
+	 */
+	public SortedGenerator(Generator<T> source, Comparator<? super T> cmp, boolean reverse) {
+		this.source = source;
+		this.cmp = cmp;
+		this.reverse = reverse;
+	}
+
+	/**
+	 * @return true once the source has been read, by the first call to next().
+	 */
+	public boolean isStarted() {
+		return items != null;
+	}
+
+	/**
+	 * @return a generator returning the same items in the reverse order. Only possible before the first call to next(),
+	 *         this generator must not be used afterwards.
+	 */
+	public SortedGenerator<T> reversed() {
+		if (isStarted())
+			throw new IllegalStateException("the generator has already started");
+		return new SortedGenerator<T>(source, cmp, !reverse);
+	}
+
+	public T next() throws NoSuchElementException {
+		if (items == null)
+			load();
+		if (i >= size)
+			throw new NoSuchElementException();
+		while (stack[top] != i)
+			partition();
+		top--; // i is at its final place
+		@SuppressWarnings("unchecked")
+		T t = (T) items[i];
+		items[i++] = null; // release it
+		return t;
+	}
+
+	/**
+	 * read the whole source.
+	 */
+	private void load() {
+		items = new Object[16];
+		try {
+			while (true) {
+				if (size == items.length)
+					grow();
+				items[size] = source.next();
+				size++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		source = null;
+		order = new int[size];
+		for (int k = 0; k < size; k++)
+			order[k] = k;
+		stack = new int[64];
+		stack[0] = size;
+		top = 0;
+	}
+
+	private void grow() {
+		Object[] old = items;
+		items = new Object[old.length * 2];
+		System.arraycopy(old, 0, items, 0, old.length);
+	}
+
+	/**
+	 * split the segment [i, stack[top][ around a pivot, and push the pivot
+	 * position. Small segments are fully sorted instead, and all their
+	 * positions pushed.
+	 */
+	private void partition() {
+		int lo = i;
+		int hi = stack[top]; // excluded
+		if (hi - lo <= INSERTION_THRESHOLD) {
+			insertionSort(lo, hi);
+			for (int k = hi - 1; k >= lo; k--)
+				push(k);
+			return;
+		}
+		// median of three as pivot, moved at the end of the segment
+		int mid = (lo + hi) >>> 1;
+		int last = hi - 1;
+		if (compare(mid, lo) < 0)
+			swap(mid, lo);
+		if (compare(last, lo) < 0)
+			swap(last, lo);
+		if (compare(mid, last) < 0)
+			swap(mid, last);
+		// items[last] is now the median, there is no equality thanks to order[]
+		int store = lo;
+		for (int k = lo; k < last; k++)
+			if (compare(k, last) < 0)
+				swap(k, store++);
+		swap(store, last);
+		push(store);
+	}
+
+	private void insertionSort(int lo, int hi) {
+		for (int k = lo + 1; k < hi; k++)
+			for (int j = k; j > lo && compare(j, j - 1) < 0; j--)
+				swap(j, j - 1);
+	}
+
+	private void push(int position) {
+		if (++top == stack.length) {
+			int[] old = stack;
+			stack = new int[old.length * 2];
+			System.arraycopy(old, 0, stack, 0, old.length);
+		}
+		stack[top] = position;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int compare(int a, int b) {
+		if (reverse) {
+			int t = a;
+			a = b;
+			b = t;
+		}
+		int c = cmp.compare((T) items[a], (T) items[b]);
+		if (c != 0)
+			return c;
+		return order[a] < order[b] ? -1 : (order[a] == order[b] ? 0 : 1);
+	}
+
+	private void swap(int a, int b) {
+		Object t = items[a];
+		items[a] = items[b];
+		items[b] = t;
+		int o = order[a];
+		order[a] = order[b];
+		order[b] = o;
+	}
+}
@@ -0,0 +1,72 @@
+package net.ericaro.neoitertools.generators;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Itertools;
+
+/**
+ * Sliding windows of <code>size</code> consecutive items, moving <code>step</code> items at a time. Items are kept in
+ * a single ring buffer of <code>size</code> items, and the same read-only list is returned over and over, updated in
+ * place: it is only valid until the next call to next(), copy it to keep it.
+ * 
+ * Only full windows are returned: if the source has less than size items, there is none.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/WindowGenerator">WindowGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class WindowGenerator<T> implements Generator<List<T>> {
+
+	private class Window extends AbstractList<T> implements RandomAccess {
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T get(int index) {
+			if (index < 0 || index >= ring.length)
+				throw new IndexOutOfBoundsException("index: " + index + ", size: " + ring.length);
+			int i = head + index;
+			return (T) ring[i < ring.length ? i : i - ring.length];
+		}
+
+		@Override
+		public int size() {
+			return ring.length;
+		}
+	}
+
+	private final Generator<T> source;
+	private final int step;
+	private final Object[] ring;
+	private int head = 0; // position of the oldest item in ring
+	private boolean started = false;
+	private final Window window = new Window();
+
+	public WindowGenerator(Generator<T> source, int size, int step) {
+		if (size < 1 || step < 1)
+			throw new IllegalArgumentException("size and step must be >= 1");
+		this.source = source;
+		this.step = step;
+		this.ring = new Object[size];
+	}
+
+	public List<T> next() throws NoSuchElementException {
+		if (!started) {
+			for (int i = 0; i < ring.length; i++)
+				ring[i] = source.next();
+			started = true;
+			return window;
+		}
+		if (step > ring.length) // the items between two windows
+			Itertools.skip(source, step - ring.length);
+		for (int i = Math.min(step, ring.length); i > 0; i--) {
+			ring[head] = source.next(); // replace the oldest
+			if (++head == ring.length)
+				head = 0;
+		}
+		return window;
+	}
+}
@@ -1,14 +1,9 @@
 package net.ericaro.neoitertools.generators;
 
-import static net.ericaro.neoitertools.Itertools.iter;
-import static net.ericaro.neoitertools.Itertools.list;
-import static net.ericaro.neoitertools.Itertools.map;
-
 import java.util.List;
 import java.util.NoSuchElementException;
 
 import net.ericaro.neoitertools.Generator;
-import net.ericaro.neoitertools.Lambda;
 
 /**
  * an {@link Generator} of Pairs, where the i-th couple contains the i-th
@@ -18,28 +13,37 @@ import net.ericaro.neoitertools.Lambda;
  * Due to static typing of java, it is not possible to provide a generic length
  * of Generator and at the same time provide mixed-type tuples.
  * 
+ * Each row is a new unmodifiable list, unless the generator is built to reuse
+ * its row: the same list is then returned over and over, updated in place, and
+ * is only valid until the next call to next().
+ * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/ZipGenerator">ZipGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a> 
  * 
  */
 public class ZipGenerator<T> implements Generator<List<T>> {
-	private List<Generator<T>> generators;
-	private Lambda<Generator<T>, T> next;
+	private final Generator<?>[] generators;
+	private final Row<T> row; // the reused row, or null
 
 	public ZipGenerator(List<Generator<T>> generators) {
-		this.generators = generators;
-		next = new Lambda<Generator<T>, T>() {
+		this(generators, false);
+	}
 
-			public T map(Generator<T> arg) {
-				return arg.next();
-			}
-		};
+	/**
+	 * @param generators
+	 * @param reuse
+	 *            true to return the same row, updated in place, at every call
+	 */
+	public ZipGenerator(List<Generator<T>> generators, boolean reuse) {
+		this.generators = generators.toArray(new Generator<?>[generators.size()]);
+		this.row = reuse ? new Row<T>(this.generators.length) : null;
 	}
 
-	public List<T> next() {
-		List<T> list = list( map(next, iter(generators)) );
-		if (list.size() != generators.size()) throw new NoSuchElementException() ;
-		return list;
+	public List<T> next() throws NoSuchElementException {
+		Row<T> row = this.row == null ? new Row<T>(generators.length) : this.row;
+		for (int i = 0; i < generators.length; i++)
+			row.items[i] = generators[i].next();
+		return row;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package net.ericaro.neoitertools.generators;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * Same as {@link ZipGenerator}, but runs until the longest argument Generator
+ * is exhausted, the missing values of the shorter ones being replaced by a fill
+ * value.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/ZipLongestGenerator">ZipLongestGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class ZipLongestGenerator<T> implements Generator<List<T>> {
+	private final Generator<?>[] generators; // exhausted ones are set to null
+	private final T fill;
+	private int active;
+
+	public ZipLongestGenerator(List<Generator<T>> generators, T fill) {
+		this.generators = generators.toArray(new Generator<?>[generators.size()]);
+		this.fill = fill;
+		this.active = this.generators.length;
+	}
+
+	public List<T> next() throws NoSuchElementException {
+		if (active == 0)
+			throw new NoSuchElementException();
+		Row<T> row = new Row<T>(generators.length);
+		for (int i = 0; i < generators.length; i++) {
+			row.items[i] = fill;
+			if (generators[i] != null)
+				try {
+					row.items[i] = generators[i].next();
+				} catch (NoSuchElementException e) {
+					generators[i] = null;
+					active--;
+				}
+		}
+		if (active == 0) // the last one just ended
+			throw new NoSuchElementException();
+		return row;
+	}
+}
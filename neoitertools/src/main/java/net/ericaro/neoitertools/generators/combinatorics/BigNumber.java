@@ -1,25 +1,30 @@
 package net.ericaro.neoitertools.generators.combinatorics;
 
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
 
-import net.ericaro.neoitertools.Generator;
-
 
 /** A BigNumber is simply a number represented by a fixed collections of digits of size <code>size</code>.
- * it requires two abstract method : 
- * {@link BigNumber#inc()} to move to the next one.
+ * it requires three abstract methods : 
+ * {@link BigNumber#inc()} to move to the next one,
+ * {@link BigNumber#decode(BigInteger)} to move directly to the ith one,
+ * and {@link BigNumber#count()} to tell how many of them there are.
  *  
  * @see <a href="http://code.google.com/p/neoitertools/wiki/BigNumber">BigNumber's wiki page</a>
  * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  * @author eric
  *
  */
-public abstract class BigNumber implements Generator<int[]> {
+public abstract class BigNumber implements Rankable {
 
 protected int[] base;
 protected int size;
 private boolean first = true;
+private boolean exhausted = false;
+private BigInteger origin = BigInteger.ZERO; // rank of the first value returned since the last unrank
+private long consumed = 0; // values returned since the last unrank
+private BigInteger mark = BigInteger.ZERO;
 
 
 public BigNumber(int size) {
@@ -33,17 +38,85 @@ public BigNumber(int size) {
  */
 protected abstract void inc() throws NoSuchElementException;
 
+/** set the digits to the number of rank <code>rank</code>.
+ * 
+ * @param rank in [0, count() [
+ */
+protected abstract void decode(BigInteger rank);
+
+/** 
+ * @return a new number of the same kind, at rank 0.
+ */
+protected abstract BigNumber newInstance();
+
 
 public String toString() {
 	return Arrays.toString(base);
 }
 
 public int[] next() {
-	if (!first ) 
-		inc();
+	if (exhausted)
+		throw new NoSuchElementException();
+	if (!first)
+		try {
+			inc();
+		} catch (NoSuchElementException e) {
+			exhausted = true;
+			throw e;
+		}
 	first = false;
+	consumed++;
 	return base;
 }
 
+public BigInteger rank() {
+	return origin.add(BigInteger.valueOf(consumed));
+}
+
+public void unrank(BigInteger rank) {
+	if (rank.signum() < 0)
+		throw new IllegalArgumentException("rank must be >= 0");
+	BigInteger count = count();
+	exhausted = rank.compareTo(count) >= 0;
+	if (exhausted)
+		rank = count;
+	else
+		decode(rank);
+	first = true;
+	origin = rank;
+	consumed = 0;
+}
+
+public void unrank(long rank) {
+	unrank(BigInteger.valueOf(rank));
+}
+
+public void mark() {
+	mark = rank();
+}
+
+public void rewind() {
+	unrank(mark);
+}
+
+public BigNumber copy() {
+	BigNumber copy = newInstance();
+	copy.unrank(rank());
+	copy.mark = mark;
+	return copy;
+}
+
+public void skip(long n) {
+	if (n < 0)
+		throw new IllegalArgumentException("cannot skip backward");
+	if (n <= size) // a few increments are cheaper than a decode
+		try {
+			while (n-- > 0)
+				next();
+		} catch (NoSuchElementException e) {
+		}
+	else
+		unrank(rank().add(BigInteger.valueOf(n)));
+}
 
 }
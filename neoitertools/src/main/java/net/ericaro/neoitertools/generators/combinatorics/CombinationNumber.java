@@ -1,36 +1,94 @@
 package net.ericaro.neoitertools.generators.combinatorics;
 
+import java.math.BigInteger;
 import java.util.NoSuchElementException;
 
-/** A big number that follows combinations.
+/** A big number that follows combinations, in lexicographic order: its digits are increasing indices in [0, total[.
+ * 
+ * With replacement, digits are only non decreasing, so that an index can be repeated.
+ * 
+ * The next combination is computed in place, in O(1) amortized time: increment the rightmost digit that can be, and
+ * reset the following ones to their smallest value.
  * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/CombinationNumber">CombinationNumber's wiki page</a>
  * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
 public class CombinationNumber extends BigNumber {
-	FixedSumNumber fixedSum;
+
+	private final int total;
+	private final int gap; // minimal difference between two successive digits
 
 	public CombinationNumber(int total, int size) {
+		this(total, size, false);
+	}
+
+	public CombinationNumber(int total, int size, boolean replacement) {
 		super(size);
-		fixedSum = new FixedSumNumber(total, size);
-		try {
-			inc();
-		} catch (Exception e) {}
+		if (total < 0 || size < 0) {
+			throw new RuntimeException(
+					"Can't create CombinationNumber with a negative value.");
+		}
+		if (size > total && !replacement) {
+			throw new RuntimeException(
+					"Can't create CombinationNumber with subsize larger than size.");
+		}
+		this.total = total;
+		this.gap = replacement ? 0 : 1;
+		for (int i = 1; i < size; i++)
+			base[i] = base[i - 1] + gap;
+		if (count().signum() == 0) // nothing to choose from
+			unrank(BigInteger.ZERO);
+	}
+
+	/** the max value of the ith digit
+	 */
+	private int max(int i) {
+		return total - 1 - gap * (size - 1 - i);
 	}
 
 	protected void inc() {
+		int i = size - 1;
+		while (i >= 0 && base[i] == max(i))
+			i--;
+		if (i < 0)
+			throw new NoSuchElementException();
+		base[i]++;
+		for (int j = i + 1; j < size; j++)
+			base[j] = base[j - 1] + gap;
+	}
+
+	/** the number of ways to complete a combination whose digit i is c
+	 */
+	private BigInteger completions(int i, int c) {
+		int l = size - 1 - i; // digits left
+		return gap == 1 ? Combinatorics.binomial(total - 1 - c, l) : Combinatorics.binomial(total - 1 - c + l, l);
+	}
 
-		try {
-			int[] f = fixedSum.next();
-			int k = -1;
-			for(int i=0;i<size;i++){
-				k += f[i] + 1;
-				base[i] = k;
+	@Override
+	protected BigNumber newInstance() {
+		return new CombinationNumber(total, size, gap == 0);
+	}
+
+	@Override
+	protected void decode(BigInteger rank) {
+		int c = 0;
+		for (int i = 0; i < size; i++) {
+			// skip all the combinations starting with a smaller digit
+			BigInteger block = completions(i, c);
+			while (rank.compareTo(block) >= 0) {
+				rank = rank.subtract(block);
+				block = completions(i, ++c);
 			}
-		} catch (ArrayIndexOutOfBoundsException e) {
-			throw new NoSuchElementException() ;
+			base[i] = c;
+			c += gap;
 		}
 	}
 
+	public BigInteger count() {
+		if (size == 0)
+			return BigInteger.ONE;
+		return gap == 1 ? Combinatorics.binomial(total, size) : Combinatorics.binomial(total + size - 1, size);
+	}
+
 }
@@ -1,9 +1,15 @@
 package net.ericaro.neoitertools.generators.combinatorics;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Itertools;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
 
 /** provides low level algorithms for permutations and combinations... Based on int[] to described indexes.
  * Warning, those algorithms are memory efficient, and therefore do not copy int[] around all the time. This means
@@ -17,23 +23,37 @@ import net.ericaro.neoitertools.Generator;
  */
 public class Combinatorics {
 
-	
+	// binomials are read from a cached Pascal's triangle up to this row, computed from factorials above
+	private static final int PASCAL_ROWS = 128;
+
+	private static final List<BigInteger> factorials = new ArrayList<BigInteger>();
+	private static final List<BigInteger[]> pascal = new ArrayList<BigInteger[]>();
 	
 	/**
 	 * Calculate all permutations' indices
 	 * @param n
 	 * @return an Generator containing indices
 	 */
-	public static Generator<int[]> permutations(final int n) {
+	public static Rankable permutations(final int n) {
 		return new PermutationNumber(n);
 	}
 
+	/**
+	 * Calculate all permutations' indices, in lexicographic order or in the fastest order.
+	 * @param n
+	 * @param lexicographic if false, permutations are generated by Heap's algorithm (see {@link HeapPermutationNumber})
+	 * @return an Generator containing indices
+	 */
+	public static Generator<int[]> permutations(final int n, boolean lexicographic) {
+		return lexicographic ? new PermutationNumber(n) : new HeapPermutationNumber(n);
+	}
+
 
 	/** Calculate all product selectors' indices
 	 * 
 	 * @param lengths
 	 */
-	public static Generator<int[]> product(int[] lengths) {
+	public static Rankable product(int[] lengths) {
 		return new VarBaseNumber(lengths);
 	}
 	
@@ -44,9 +64,19 @@ public class Combinatorics {
 	 * @param n size of the subsets
 	 * @return an Generator for the indices
 	 */
-	public static Generator<int[]> combinations(final int m, final int n) {
+	public static Rankable combinations(final int m, final int n) {
 		return new CombinationNumber(m, n);
 	}
+
+	/**
+	 * Calculate all multisets' indices: like combinations, but an index can be repeated.
+	 * @param m larger size
+	 * @param n size of the multisets
+	 * @return an Generator for the indices
+	 */
+	public static Rankable combinationsWithReplacement(final int m, final int n) {
+		return new CombinationNumber(m, n, true);
+	}
 	
 	
 	
@@ -56,9 +86,163 @@ public class Combinatorics {
 	 * @param n size of the sublists
 	 * @return an Generator containing the indexes
 	 */
-	public static Generator<int[]> sublists(final int m, final int n) {
+	public static Rankable sublists(final int m, final int n) {
 		return new SubListNumber(m, n);
 	}
+
+	/** n! read from a cached table.
+	 * 
+	 * @param n
+	 */
+	public static synchronized BigInteger factorial(int n) {
+		if (n < 0)
+			throw new IllegalArgumentException("n must be >= 0");
+		if (factorials.isEmpty())
+			factorials.add(BigInteger.ONE);
+		for (int i = factorials.size(); i <= n; i++)
+			factorials.add(factorials.get(i - 1).multiply(BigInteger.valueOf(i)));
+		return factorials.get(n);
+	}
+
+	/** The binomial coefficient C(n, k), 0 if k is not in [0, n].
+	 * 
+	 * @param n
+	 * @param k
+	 */
+	public static synchronized BigInteger binomial(int n, int k) {
+		if (k < 0 || k > n)
+			return BigInteger.ZERO;
+		if (n >= PASCAL_ROWS)
+			return factorial(n).divide(factorial(k).multiply(factorial(n - k)));
+		for (int i = pascal.size(); i <= n; i++) {
+			BigInteger[] row = new BigInteger[i + 1];
+			row[0] = row[i] = BigInteger.ONE;
+			BigInteger[] previous = i > 0 ? pascal.get(i - 1) : null;
+			for (int j = 1; j < i; j++)
+				row[j] = previous[j - 1].add(previous[j]);
+			pascal.add(row);
+		}
+		return pascal.get(n)[k];
+	}
+
+	/** Number of values generated by {@link Combinatorics#permutations(int)}: n!
+	 * 
+	 * @param n
+	 */
+	public static BigInteger countPermutations(int n) {
+		return factorial(n);
+	}
+
+	/** Number of values generated by {@link Combinatorics#combinations(int, int)}: C(m, n)
+	 * 
+	 * @param m
+	 * @param n
+	 */
+	public static BigInteger countCombinations(int m, int n) {
+		return binomial(m, n);
+	}
+
+	/** Number of values generated by {@link Combinatorics#combinationsWithReplacement(int, int)}: C(m + n - 1, n)
+	 * 
+	 * @param m
+	 * @param n
+	 */
+	public static BigInteger countCombinationsWithReplacement(int m, int n) {
+		return n == 0 ? BigInteger.ONE : binomial(m + n - 1, n);
+	}
+
+	/** Number of values generated by {@link Combinatorics#sublists(int, int)}: m! / (m-n)!
+	 * 
+	 * @param m
+	 * @param n
+	 */
+	public static BigInteger countSublists(int m, int n) {
+		return binomial(m, n).multiply(factorial(n));
+	}
+
+	/** Number of values generated by {@link Combinatorics#product(int[])}: the product of all lengths
+	 * 
+	 * @param lengths
+	 */
+	public static BigInteger countProduct(int[] lengths) {
+		BigInteger count = BigInteger.ONE;
+		for (int length : lengths)
+			count = count.multiply(BigInteger.valueOf(Math.max(length, 0)));
+		return count;
+	}
+
+	/** Same as {@link Combinatorics#countPermutations(int)}, computed with longs.
+	 * 
+	 * @param n
+	 * @throws ArithmeticException
+	 *             if the count does not fit in a long (n &gt; 20)
+	 */
+	public static long countPermutationsExact(int n) {
+		return countSublistsExact(n, n);
+	}
+
+	/** Same as {@link Combinatorics#countCombinations(int, int)}, computed with longs.
+	 * 
+	 * @param m
+	 * @param n
+	 * @throws ArithmeticException
+	 *             if the count does not fit in a long
+	 */
+	public static long countCombinationsExact(int m, int n) {
+		if (n < 0 || n > m)
+			return 0;
+		n = Math.min(n, m - n);
+		long c = 1;
+		try {
+			// c is C(m - n + i, i) at each step, the division is exact
+			for (int i = 1; i <= n; i++)
+				c = Math.multiplyExact(c, m - n + i) / i;
+		} catch (ArithmeticException e) {
+			// the intermediate product overflowed, the result may not
+			return binomial(m, n).longValueExact();
+		}
+		return c;
+	}
+
+	/** Same as {@link Combinatorics#countCombinationsWithReplacement(int, int)}, computed with longs.
+	 * 
+	 * @param m
+	 * @param n
+	 * @throws ArithmeticException
+	 *             if the count does not fit in a long
+	 */
+	public static long countCombinationsWithReplacementExact(int m, int n) {
+		return n == 0 ? 1 : countCombinationsExact(m + n - 1, n);
+	}
+
+	/** Same as {@link Combinatorics#countSublists(int, int)}, computed with longs.
+	 * 
+	 * @param m
+	 * @param n
+	 * @throws ArithmeticException
+	 *             if the count does not fit in a long
+	 */
+	public static long countSublistsExact(int m, int n) {
+		if (n < 0 || n > m)
+			return 0;
+		long c = 1;
+		for (int i = m - n + 1; i <= m; i++)
+			c = Math.multiplyExact(c, i);
+		return c;
+	}
+
+	/** Same as {@link Combinatorics#countProduct(int[])}, computed with longs.
+	 * 
+	 * @param lengths
+	 * @throws ArithmeticException
+	 *             if the count does not fit in a long
+	 */
+	public static long countProductExact(int[] lengths) {
+		long c = 1;
+		for (int length : lengths)
+			c = Math.multiplyExact(c, Math.max(length, 0));
+		return c;
+	}
 	
 	/** Apply a transformation, described by the int[] to the given origin, into a new array.
 	 * 
@@ -103,13 +287,8 @@ public class Combinatorics {
 	 * @param lists
 	 * @param indicesGenerator
 	 */
-	public static <T> Generator<List<T>> selected(final List<List<T>> lists, 	final Generator<int[]> indicesGenerator) {
-		
-		return new Generator<List<T>>() {
-			public List<T> next() {
-				return select(lists, indicesGenerator.next());
-			}
-		};
+	public static <T> Generator<List<T>> selected(List<List<T>> lists, 	final Generator<int[]> indicesGenerator) {
+		return capable(new Selected<T>(arrays(lists), indicesGenerator));
 	}
 
 	/** Return a Generator over a list of applied transformation ( @see {@link Combinatorics#apply(List, int[])} . 
@@ -119,12 +298,158 @@ public class Combinatorics {
 	 */
 	public static <T> Generator<List<T>> applied(final List<T> elements,
 			final Generator<int[]> indicesGenerator) {
-		
-		return new Generator<List<T>>() {
-			public List<T> next() {
-				return apply(elements, indicesGenerator.next());
+		// an application is a selection in a single list
+		return capable(new Selected<T>(new Object[][] { elements.toArray() }, indicesGenerator));
+	}
+
+	/** Same as {@link Combinatorics#applied(List, Generator)} but always returns the same {@link TupleView} instead of a new list.
+	 * The view is updated by every call to next().
+	 * 
+	 * @param elements
+	 * @param indicesGenerator
+	 */
+	public static <T> Generator<TupleView<T>> appliedView(List<T> elements, final Generator<int[]> indicesGenerator) {
+		return capable(new SelectedView<T>(new Object[][] { elements.toArray() }, indicesGenerator));
+	}
+
+	/** Same as {@link Combinatorics#selected(List, Generator)} but always returns the same {@link TupleView} instead of a new list.
+	 * The view is updated by every call to next().
+	 * 
+	 * @param lists
+	 * @param indicesGenerator
+	 */
+	public static <T> Generator<TupleView<T>> selectedView(List<List<T>> lists, final Generator<int[]> indicesGenerator) {
+		return capable(new SelectedView<T>(arrays(lists), indicesGenerator));
+	}
+
+	/** random access arrays, lists may be linked
+	 */
+	private static <T> Object[][] arrays(List<List<T>> lists) {
+		Object[][] arrays = new Object[lists.size()][];
+		int i = 0;
+		for (List<T> list : lists)
+			arrays[i++] = list.toArray();
+		return arrays;
+	}
+
+	/** A generator of items built from indices: skipping items skips the indices, so that slicing permutations
+	 * unranks instead of building every skipped item.
+	 */
+	private static abstract class Indexed<O> implements Generator<O>, Skippable {
+		final Object[][] arrays;
+		final Generator<int[]> indicesGenerator;
+
+		Indexed(Object[][] arrays, Generator<int[]> indicesGenerator) {
+			this.arrays = arrays;
+			this.indicesGenerator = indicesGenerator;
+		}
+
+		public void skip(long n) {
+			Itertools.skip(indicesGenerator, n);
+		}
+
+		/** the same items, built from other indices */
+		abstract Indexed<O> with(Generator<int[]> indicesGenerator);
+	}
+
+	private static class Selected<T> extends Indexed<List<T>> {
+
+		Selected(Object[][] arrays, Generator<int[]> indicesGenerator) {
+			super(arrays, indicesGenerator);
+		}
+
+		public List<T> next() {
+			int[] indices = indicesGenerator.next();
+			List<T> items = new ArrayList<T>(indices.length);
+			for (int i = 0; i < indices.length; i++) {
+				@SuppressWarnings("unchecked")
+				T t = (T) arrays[i % arrays.length][indices[i]];
+				items.add(t);
+			}
+			return items;
+		}
+
+		Selected<T> with(Generator<int[]> indicesGenerator) {
+			return new Selected<T>(arrays, indicesGenerator);
+		}
+	}
+
+	private static class SelectedView<T> extends Indexed<TupleView<T>> {
+		private final TupleView<T> view;
+
+		SelectedView(Object[][] arrays, Generator<int[]> indicesGenerator) {
+			super(arrays, indicesGenerator);
+			this.view = new TupleView<T>(arrays);
+		}
+
+		public TupleView<T> next() {
+			view.set(indicesGenerator.next());
+			return view;
+		}
+
+		SelectedView<T> with(Generator<int[]> indicesGenerator) {
+			return new SelectedView<T>(arrays, indicesGenerator); // its own view
+		}
+	}
+
+	/** Items built from {@link Rankable} indices are {@link Rewindable} and {@link Copyable} too, so that cycle and tee
+	 * do not buffer them.
+	 */
+	private static class Ranked<O> implements Generator<O>, Skippable, Rewindable, Copyable<O> {
+		private final Indexed<O> indexed;
+		private final Rankable indices;
+
+		Ranked(Indexed<O> indexed) {
+			this.indexed = indexed;
+			this.indices = (Rankable) indexed.indicesGenerator;
+		}
+
+		public O next() {
+			return indexed.next();
+		}
+
+		public void skip(long n) {
+			indices.skip(n);
+		}
+
+		public void mark() {
+			indices.mark();
+		}
+
+		public void rewind() {
+			indices.rewind();
+		}
+
+		public Ranked<O> copy() {
+			return new Ranked<O>(indexed.with(indices.copy()));
+		}
+	}
+
+	private static <O> Generator<O> capable(Indexed<O> indexed) {
+		if (indexed.indicesGenerator instanceof Rankable)
+			return new Ranked<O>(indexed);
+		return indexed;
+	}
+
+	/** Call the visitor with every indices, and the source, until the indices are exhausted or the visitor returns false.
+	 * Nothing is allocated.
+	 * 
+	 * @param indicesGenerator
+	 * @param source
+	 * @param visitor
+	 * @return the number of indices visited
+	 */
+	public static <S> long visit(Generator<int[]> indicesGenerator, S source, TupleVisitor<? super S> visitor) {
+		long n = 0;
+		try {
+			while (true) {
+				n++;
+				if (!visitor.visit(indicesGenerator.next(), source))
+					return n;
 			}
-		};
+		} catch (NoSuchElementException e) {
+			return n - 1;
+		}
 	}
 
 }
@@ -1,5 +1,6 @@
 package net.ericaro.neoitertools.generators.combinatorics;
 
+import java.math.BigInteger;
 import java.util.NoSuchElementException;
 
 
@@ -16,6 +17,11 @@ public class FactorialNumber extends BigNumber {
 		super(size);
 	}
 
+	@Override
+	protected BigNumber newInstance() {
+		return new FactorialNumber(size);
+	}
+
 	private void _inc(int j) {
 		int i = size - j - 1;
 		if (base[i] < j)
@@ -35,6 +41,20 @@ public class FactorialNumber extends BigNumber {
 		}
 	}
 
+	@Override
+	protected void decode(BigInteger rank) {
+		// the ith digit weights (size-i-1)!
+		for (int i = 0; i < size; i++) {
+			BigInteger[] qr = rank.divideAndRemainder(Combinatorics.factorial(size - i - 1));
+			base[i] = qr[0].intValue();
+			rank = qr[1];
+		}
+	}
+
+	public BigInteger count() {
+		return Combinatorics.factorial(size);
+	}
+
 	
 
 }
@@ -1,5 +1,6 @@
 package net.ericaro.neoitertools.generators.combinatorics;
 
+import java.math.BigInteger;
 import java.util.NoSuchElementException;
 
 
@@ -30,6 +31,11 @@ public class FixedSumNumber extends BigNumber {
 		this.sum = 0;
 	}
 
+	@Override
+	protected BigNumber newInstance() {
+		return new FixedSumNumber(total, size);
+	}
+
 	/**
 	 * A little magic doesn't hurt ;-) this code does increment the combination.
 	 * 
@@ -59,4 +65,31 @@ public class FixedSumNumber extends BigNumber {
 			throw new NoSuchElementException() ;
 		}
 	}
+
+	/**
+	 * There are C(s + l, l) numbers of l digits whose sum is &lt;= s. So, to
+	 * find the ith digit, skip all the blocks starting with a smaller one.
+	 */
+	@Override
+	protected void decode(BigInteger rank) {
+		int s = total - size; // what remains to be shared among digits
+		sum = 0;
+		for (int i = 0; i < size; i++) {
+			int l = size - i - 1; // digits left after this one
+			int d = 0;
+			BigInteger block = Combinatorics.binomial(s + l, l);
+			while (rank.compareTo(block) >= 0) {
+				rank = rank.subtract(block);
+				d++;
+				block = Combinatorics.binomial(s - d + l, l);
+			}
+			base[i] = d;
+			sum += d;
+			s -= d;
+		}
+	}
+
+	public BigInteger count() {
+		return Combinatorics.binomial(total, size);
+	}
 }
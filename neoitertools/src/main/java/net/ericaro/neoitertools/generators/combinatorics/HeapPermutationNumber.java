@@ -0,0 +1,55 @@
+package net.ericaro.neoitertools.generators.combinatorics;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+/** All the permutations, using Heap's algorithm: every permutation is obtained from the previous one by a single swap.
+ * 
+ * This is the fastest way to get all the permutations when their order does not matter. For lexicographic order use {@link PermutationNumber}
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/HeapPermutationNumber">HeapPermutationNumber's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class HeapPermutationNumber implements Generator<int[]> {
+
+	private int[] base;
+	private int[] counters; // counters[i] is the number of swaps done at level i
+	private int i = 1; // current level
+	private boolean first = true;
+
+	public HeapPermutationNumber(int size) {
+		base = new int[size];
+		for (int j = 0; j < size; j++)
+			base[j] = j;
+		counters = new int[size];
+	}
+
+	public int[] next() throws NoSuchElementException {
+		if (first) {
+			first = false;
+			return base;
+		}
+		while (i < base.length) {
+			if (counters[i] < i) {
+				// even levels swap the first item, odd levels the counter one
+				int j = (i & 1) == 0 ? 0 : counters[i];
+				int t = base[j];
+				base[j] = base[i];
+				base[i] = t;
+				counters[i]++;
+				i = 1;
+				return base;
+			}
+			counters[i] = 0;
+			i++;
+		}
+		throw new NoSuchElementException();
+	}
+
+	public String toString() {
+		return Arrays.toString(base);
+	}
+}
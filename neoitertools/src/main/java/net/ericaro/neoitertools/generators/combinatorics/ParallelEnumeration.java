@@ -0,0 +1,256 @@
+package net.ericaro.neoitertools.generators.combinatorics;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import net.ericaro.neoitertools.Lambda;
+import net.ericaro.neoitertools.Operator;
+
+/**
+ * Enumerates all the indices of a {@link Rankable} space using every core.
+ * <p>
+ * The rank space [0, count[ is recursively split in halves down to chunks, processed as tasks on a {@link ForkJoinPool}, so that idle workers steal the
+ * remaining chunks. Each chunk gets its own Rankable, moved to the chunk start (see {@link Rankable#unrank(BigInteger)}), and iterates from there, so the
+ * int[] passed to the lambdas is the chunk's own buffer: it is overwritten by the next indices and must not be kept (clone it to keep it). Chunks hold
+ * at least a thousand indices, so this allocation is negligible.
+ * </p>
+ * <p>
+ * The lambdas are called concurrently from several threads.
+ * </p>
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/ParallelEnumeration">ParallelEnumeration's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class ParallelEnumeration {
+
+	private static final int CHUNKS_PER_THREAD = 16;
+	private static final long MIN_CHUNK = 1024;
+
+	private final ForkJoinPool pool;
+	private final BigInteger count;
+	private final BigInteger chunk; // max size of a leaf task
+	private final RankableFactory factory;
+
+	public ParallelEnumeration(RankableFactory factory) {
+		this(factory, ForkJoinPool.commonPool());
+	}
+
+	public ParallelEnumeration(final RankableFactory factory, ForkJoinPool pool) {
+		this.pool = pool;
+		this.count = factory.newInstance().count();
+		BigInteger chunk = count.divide(BigInteger.valueOf(pool.getParallelism() * CHUNKS_PER_THREAD));
+		// a leaf is run with a long counter
+		this.chunk = chunk.max(BigInteger.valueOf(MIN_CHUNK)).min(BigInteger.valueOf(Long.MAX_VALUE));
+		this.factory = factory;
+	}
+
+	/** Parallel enumeration of {@link Combinatorics#permutations(int)}
+	 */
+	public static ParallelEnumeration permutations(final int n) {
+		return new ParallelEnumeration(new RankableFactory() {
+			public Rankable newInstance() {
+				return Combinatorics.permutations(n);
+			}
+		});
+	}
+
+	/** Parallel enumeration of {@link Combinatorics#combinations(int, int)}
+	 */
+	public static ParallelEnumeration combinations(final int m, final int n) {
+		return new ParallelEnumeration(new RankableFactory() {
+			public Rankable newInstance() {
+				return Combinatorics.combinations(m, n);
+			}
+		});
+	}
+
+	/** Parallel enumeration of {@link Combinatorics#combinationsWithReplacement(int, int)}
+	 */
+	public static ParallelEnumeration combinationsWithReplacement(final int m, final int n) {
+		return new ParallelEnumeration(new RankableFactory() {
+			public Rankable newInstance() {
+				return Combinatorics.combinationsWithReplacement(m, n);
+			}
+		});
+	}
+
+	/** Parallel enumeration of {@link Combinatorics#sublists(int, int)}
+	 */
+	public static ParallelEnumeration sublists(final int m, final int n) {
+		return new ParallelEnumeration(new RankableFactory() {
+			public Rankable newInstance() {
+				return Combinatorics.sublists(m, n);
+			}
+		});
+	}
+
+	/** Parallel enumeration of {@link Combinatorics#product(int[])}
+	 */
+	public static ParallelEnumeration product(final int... lengths) {
+		return new ParallelEnumeration(new RankableFactory() {
+			public Rankable newInstance() {
+				return Combinatorics.product(lengths);
+			}
+		});
+	}
+
+	/**
+	 * @return the number of indices enumerated.
+	 */
+	public BigInteger count() {
+		return count;
+	}
+
+	/** Call <code>action</code> on every indices, in no particular order.
+	 * 
+	 * @param action
+	 *            the returned value is ignored
+	 */
+	public void forEach(final Lambda<? super int[], ?> action) {
+		pool.invoke(new Chunk<Void>(BigInteger.ZERO, count, new Worker<Void>() {
+			Void run(Rankable rankable, long n) {
+				for (long i = 0; i < n; i++)
+					action.map(rankable.next());
+				return null;
+			}
+
+			Void combine(Void r1, Void r2) {
+				return null;
+			}
+		}));
+	}
+
+	/** Map every indices, and reduce the results with <code>operator</code>. As in {@link net.ericaro.neoitertools.Itertools#reduce(Operator, net.ericaro.neoitertools.Generator)}
+	 * null stands for "no value", the result is null for an empty space.
+	 * <p>
+	 * The reduction order is unspecified, so the operator must be associative and commutative.
+	 * </p>
+	 * 
+	 * @param mapper
+	 * @param operator
+	 * @return all the mapped values reduced to a single one
+	 */
+	public <R> R reduce(final Lambda<? super int[], R> mapper, final Operator<R> operator) {
+		return pool.invoke(new Chunk<R>(BigInteger.ZERO, count, new Worker<R>() {
+			R run(Rankable rankable, long n) {
+				R r = null;
+				for (long i = 0; i < n; i++)
+					r = combine(r, mapper.map(rankable.next()));
+				return r;
+			}
+
+			R combine(R r1, R r2) {
+				if (r1 == null)
+					return r2;
+				if (r2 == null)
+					return r1;
+				return operator.operate(r1, r2);
+			}
+		}));
+	}
+
+	/** Return the first (lowest rank) indices matching the predicate, stopping all the workers as soon as no lower rank can match.
+	 * 
+	 * @param predicate
+	 * @return a copy of the matching indices or null if none matches.
+	 */
+	public int[] find(final Lambda<? super int[], Boolean> predicate) {
+		Finder finder = new Finder(predicate);
+		pool.invoke(new Chunk<Void>(BigInteger.ZERO, count, finder));
+		return finder.found;
+	}
+
+	/** does the actual job of a leaf task.
+	 */
+	private abstract class Worker<R> {
+
+		/**
+		 * @return true if the chunk starting at <code>from</code> is useless
+		 */
+		boolean cancelled(BigInteger from) {
+			return false;
+		}
+
+		/** process the next <code>n</code> indices of rankable.
+		 */
+		abstract R run(Rankable rankable, long n);
+
+		abstract R combine(R r1, R r2);
+	}
+
+	private class Chunk<R> extends RecursiveTask<R> {
+		private static final long serialVersionUID = 1L;
+		private final BigInteger from, to;
+		private final Worker<R> worker;
+
+		Chunk(BigInteger from, BigInteger to, Worker<R> worker) {
+			this.from = from;
+			this.to = to;
+			this.worker = worker;
+		}
+
+		protected R compute() {
+			if (worker.cancelled(from))
+				return null;
+			BigInteger size = to.subtract(from);
+			if (size.compareTo(chunk) <= 0) {
+				Rankable rankable = factory.newInstance(); // leaves are large, no need to keep it per thread
+				rankable.unrank(from);
+				return worker.run(rankable, size.longValue());
+			}
+			// keep the lower half for this thread, the upper one can be stolen
+			BigInteger middle = from.add(to).shiftRight(1);
+			Chunk<R> upper = new Chunk<R>(middle, to, worker);
+			upper.fork();
+			R r = new Chunk<R>(from, middle, worker).compute();
+			return worker.combine(r, upper.join());
+		}
+	}
+
+	private class Finder extends Worker<Void> {
+		private final Lambda<? super int[], Boolean> predicate;
+		private BigInteger foundRank; // guarded by this
+		private int[] found; // guarded by this
+		private volatile int version = 0; // incremented on every new found
+
+		Finder(Lambda<? super int[], Boolean> predicate) {
+			this.predicate = predicate;
+		}
+
+		synchronized boolean cancelled(BigInteger from) {
+			return foundRank != null && foundRank.compareTo(from) <= 0;
+		}
+
+		Void run(Rankable rankable, long n) {
+			BigInteger from = rankable.rank();
+			int seen = version;
+			for (long i = 0; i < n; i++) {
+				if (seen != version) { // something has been found, is it before ?
+					seen = version;
+					if (cancelled(from.add(BigInteger.valueOf(i))))
+						return null;
+				}
+				int[] indices = rankable.next();
+				if (predicate.map(indices)) {
+					found(from.add(BigInteger.valueOf(i)), indices.clone());
+					return null;
+				}
+			}
+			return null;
+		}
+
+		private synchronized void found(BigInteger rank, int[] indices) {
+			if (foundRank == null || rank.compareTo(foundRank) < 0) {
+				foundRank = rank;
+				found = indices;
+				version++;
+			}
+		}
+
+		Void combine(Void r1, Void r2) {
+			return null;
+		}
+	}
+}
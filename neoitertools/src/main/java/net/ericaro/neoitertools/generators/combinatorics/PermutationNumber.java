@@ -1,60 +1,77 @@
 package net.ericaro.neoitertools.generators.combinatorics;
 
-import java.util.Arrays;
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
 
-import net.ericaro.neoitertools.Generator;
 
-
-/** A big number whose values are all the permutations.
+/** A big number whose values are all the permutations, in lexicographic order.
+ * 
+ * The next permutation is computed in place, in O(1) amortized time: find the longest decreasing suffix, swap the digit
+ * before it with the smallest greater digit of the suffix, then reverse the suffix.
  * 
  * @author eric
  *@see <a href="http://code.google.com/p/neoitertools/wiki/PermutationNumber">PermutationNumber's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class PermutationNumber implements Generator<int[]> {
-
-	private FactorialNumber factorial;
-	int[] indices;
-	
-	private int[] base;
-	private int size;
+public class PermutationNumber extends BigNumber {
 
 	public PermutationNumber(int size) {
-		indices = new int[size];
-		factorial = new FactorialNumber(size);
-		base = new int[size];
-		this.size = size;
+		super(size);
+		for (int i = 0; i < size; i++)
+			base[i] = i;
+	}
+
+	@Override
+	protected BigNumber newInstance() {
+		return new PermutationNumber(size);
+	}
+
+	@Override
+	protected void inc() throws NoSuchElementException {
+		int i = size - 2;
+		while (i >= 0 && base[i] > base[i + 1])
+			i--;
+		if (i < 0) // the whole number is decreasing, this is the last permutation
+			throw new NoSuchElementException();
+		int j = size - 1;
+		while (base[j] < base[i])
+			j--;
+		swap(i, j);
+		for (int k = i + 1, l = size - 1; k < l; k++, l--)
+			swap(k, l);
 	}
 
-	public int[] next() {
-		int[] f = factorial.next();
-
-		// build a list of available indices
-		for (int j = 0; j < size; j++)
-			indices[j] = j;
-		
-		// peek the 
-		for(int i=0;i<size;i++)
-			base[i] = popIth( f[i] );
-		return base;
+	private void swap(int i, int j) {
+		int t = base[i];
+		base[i] = base[j];
+		base[j] = t;
 	}
 
-	/** find, remove and return the ith index available
-	 * 
-	 * @param i
-	 * @return
+	/** permutations are ranked like their factorial number (Lehmer code): the ith digit of the factorial number is the rank
+	 * of base[i] among the indices not used yet.
 	 */
-	private int popIth(int i) {
-		// at first we assume that all indices are non empty, then i is at the same time the ith non empty index, and the actual index of this value.
-		// but when we found empty indices, we have to increase it.
-		for (int j = 0; j <= i; j++)
-			if (indices[j] < 0) // this is not a valid index, it has been marked as removed, then
-				i++; // move the end test
-		indices[i] = -1; // mark as removed
-		return i;
+	@Override
+	protected void decode(BigInteger rank) {
+		if (rank.signum() == 0) { // a simple reset
+			for (int i = 0; i < size; i++)
+				base[i] = i;
+			return;
+		}
+		boolean[] used = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			BigInteger[] qr = rank.divideAndRemainder(Combinatorics.factorial(size - i - 1));
+			rank = qr[1];
+			int k = qr[0].intValue();
+			int j = 0;
+			while (used[j] || k-- > 0)
+				j++;
+			used[j] = true;
+			base[i] = j;
+		}
 	}
 
-	public String toString() {
-		return Arrays.toString(base);
+	public BigInteger count() {
+		return Combinatorics.factorial(size);
 	}
+
 }
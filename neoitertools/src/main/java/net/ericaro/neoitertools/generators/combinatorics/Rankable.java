@@ -0,0 +1,58 @@
+package net.ericaro.neoitertools.generators.combinatorics;
+
+import java.math.BigInteger;
+
+import net.ericaro.neoitertools.Copyable;
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
+
+/** A Generator of indices whose values are numbered (ranked) from 0 to count()-1, in the order they are generated.
+ * Being ranked, the generator can be moved directly to any position, without generating all the values in between.
+ * It is also {@link Rewindable}: mark() remembers the rank, rewind() unranks it, and {@link Copyable}: a copy is a new
+ * generator unranked to the same rank.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/Rankable">Rankable's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface Rankable extends Generator<int[]>, Rewindable, Skippable, Copyable<int[]> {
+
+	/**
+	 * @return the total number of values generated, from the first one.
+	 */
+	public BigInteger count();
+
+	/**
+	 * @return the rank of the value that will be returned by the next call to next(), that is also the number of values
+	 *         before it. It is equal to count() when the generator is exhausted.
+	 */
+	public BigInteger rank();
+
+	/** Move the generator so that the next call to next() returns the value of rank <code>rank</code>.
+	 * If rank is &gt;= count() the generator is exhausted.
+	 * 
+	 * @param rank
+	 *            a positive rank
+	 */
+	public void unrank(BigInteger rank);
+
+	/**
+	 * @see Rankable#unrank(BigInteger)
+	 * @param rank
+	 */
+	public void unrank(long rank);
+
+	/**
+	 * @return a new generator at the same rank (and with the same mark), independent of this one.
+	 */
+	public Rankable copy();
+
+	/** Skip the next <code>n</code> values, as if next() was called n times.
+	 * 
+	 * @param n
+	 *            a positive number of values to skip
+	 */
+	public void skip(long n);
+
+}
@@ -0,0 +1,15 @@
+package net.ericaro.neoitertools.generators.combinatorics;
+
+/** Creates new, independent, {@link Rankable} generators all over the same space.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/RankableFactory">RankableFactory's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface RankableFactory {
+
+	/**
+	 * @return a new Rankable, at rank 0.
+	 */
+	public Rankable newInstance();
+}
@@ -1,9 +1,7 @@
 package net.ericaro.neoitertools.generators.combinatorics;
 
+import java.math.BigInteger;
 import java.util.Arrays;
-import java.util.NoSuchElementException;
-
-import net.ericaro.neoitertools.Generator;
 
 /** a big number that return all the permutation of all the subsets, therefore the name: sublist
  * 
@@ -11,25 +9,32 @@ import net.ericaro.neoitertools.Generator;
  * @see <a href="http://code.google.com/p/neoitertools/wiki/SubListNumber">SubListNumber's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class SubListNumber implements Generator<int[]> {
+public class SubListNumber implements Rankable {
 
 	private CombinationNumber combinationNumbers;
 	private PermutationNumber permutationNumbers;
 	private int[] combinationNumber;
 	private int[] permutationNumber;
+	private final long permutationsCount; // size!, or Long.MAX_VALUE if it does not fit (it will never be reached anyway)
+	private long permutationRank; // rank of the next permutation of the current combination
+	private BigInteger mark = BigInteger.ZERO;
 
 	private int[] base;
+	private final int total;
 	private int size;
 
 
 	public SubListNumber(int total, int size) {
 
 		base = new int[size];
+		this.total = total;
 		this.size = size;
 		
 		combinationNumbers = new CombinationNumber(total, size);
 		permutationNumbers = new PermutationNumber(size);
 		combinationNumber = combinationNumbers.next();
+		BigInteger factorial = permutationNumbers.count();
+		permutationsCount = factorial.bitLength() < 63 ? factorial.longValue() : Long.MAX_VALUE;
 	}
 
 	
@@ -37,15 +42,14 @@ public class SubListNumber implements Generator<int[]> {
 	public int[] next() {
 		// all sublist is all the permutations of all the combinations.
 		
-		try {
-			// use the next permutation has it has one
-			permutationNumber = permutationNumbers.next();
-		} catch (NoSuchElementException e) {
+		if (permutationRank == permutationsCount) {
 			// we have reach out of permutation, use the next combination, and reinit the permutations
 			combinationNumber = combinationNumbers.next();
-			permutationNumbers = new PermutationNumber(size);
-			permutationNumber = permutationNumbers.next();
+			permutationNumbers.unrank(0);
+			permutationRank = 0;
 		}
+		permutationNumber = permutationNumbers.next();
+		permutationRank++;
 		// apply the permutation to the current combination.
 		for (int i = 0; i < size; i++) {
 			base[i] = combinationNumber[permutationNumber[i]];
@@ -53,6 +57,58 @@ public class SubListNumber implements Generator<int[]> {
 		return base;
 	}
 	
+	/** sublists are ranked by combination first, then by permutation: rank = combination rank * size! + permutation rank
+	 */
+	public BigInteger count() {
+		return combinationNumbers.count().multiply(permutationNumbers.count());
+	}
+
+	public BigInteger rank() {
+		// the current combination has already been read from combinationNumbers
+		return combinationNumbers.rank().subtract(BigInteger.ONE).multiply(permutationNumbers.count()).add(permutationNumbers.rank());
+	}
+
+	public void unrank(BigInteger rank) {
+		if (rank.signum() < 0)
+			throw new IllegalArgumentException("rank must be >= 0");
+		BigInteger[] qr = rank.divideAndRemainder(permutationNumbers.count());
+		if (rank.compareTo(count()) >= 0) { // exhaust both
+			combinationNumbers.unrank(combinationNumbers.count());
+			permutationNumbers.unrank(permutationNumbers.count());
+			permutationRank = permutationsCount;
+			return;
+		}
+		combinationNumbers.unrank(qr[0]);
+		combinationNumber = combinationNumbers.next();
+		permutationNumbers.unrank(qr[1]);
+		permutationRank = qr[1].longValue();
+	}
+
+	public void unrank(long rank) {
+		unrank(BigInteger.valueOf(rank));
+	}
+
+	public void mark() {
+		mark = rank();
+	}
+
+	public void rewind() {
+		unrank(mark);
+	}
+
+	public SubListNumber copy() {
+		SubListNumber copy = new SubListNumber(total, size);
+		copy.unrank(rank());
+		copy.mark = mark;
+		return copy;
+	}
+
+	public void skip(long n) {
+		if (n < 0)
+			throw new IllegalArgumentException("cannot skip backward");
+		unrank(rank().add(BigInteger.valueOf(n)));
+	}
+
 	public String toString() {
 		return Arrays.toString(base);
 	}
@@ -0,0 +1,50 @@
+package net.ericaro.neoitertools.generators.combinatorics;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/** A read only {@link List} view of the items selected by an int[] of indices (see {@link Combinatorics#apply(List, int[])} and
+ * {@link Combinatorics#select(List, int[])}).
+ * 
+ * The elements are copied once into arrays when the generator is created, and the same view is then returned for every
+ * tuple: it reads those arrays through the indices of the generator, that are shared and updated in place, so no tuple
+ * is copied. The view is only valid until the next call to next(), use {@link TupleView#copy()} to keep it.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/TupleView">TupleView's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class TupleView<T> extends AbstractList<T> implements RandomAccess {
+
+	private final Object[][] lists; // indices[i] is read in lists[i % lists.length]
+	private int[] indices;
+
+	TupleView(Object[][] lists) {
+		this.lists = lists;
+		this.indices = new int[0];
+	}
+
+	void set(int[] indices) {
+		this.indices = indices;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T get(int i) {
+		if (lists.length == 1)
+			return (T) lists[0][indices[i]];
+		return (T) lists[i % lists.length][indices[i]];
+	}
+
+	public int size() {
+		return indices.length;
+	}
+
+	/**
+	 * @return a copy of this tuple, that remains valid.
+	 */
+	public List<T> copy() {
+		return new ArrayList<T>(this);
+	}
+}
@@ -0,0 +1,20 @@
+package net.ericaro.neoitertools.generators.combinatorics;
+
+/** Callback receiving the indices generated by a combinatorics generator, along with the source they index.
+ * 
+ * @author eric
+ * @see Combinatorics#visit(net.ericaro.neoitertools.Generator, Object, TupleVisitor)
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/TupleVisitor">TupleVisitor's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public interface TupleVisitor<S> {
+
+	/**
+	 * @param indices
+	 *            the generator's indices, only valid during this call
+	 * @param source
+	 *            what indices point to
+	 * @return true to go on, false to stop the visit.
+	 */
+	public boolean visit(int[] indices, S source);
+}
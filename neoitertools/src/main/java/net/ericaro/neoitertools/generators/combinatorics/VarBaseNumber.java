@@ -1,5 +1,6 @@
 package net.ericaro.neoitertools.generators.combinatorics;
 
+import java.math.BigInteger;
 import java.util.NoSuchElementException;
 
 public class VarBaseNumber extends BigNumber {
@@ -10,6 +11,13 @@ public class VarBaseNumber extends BigNumber {
 	public VarBaseNumber(int... sizes) {
 		super(sizes.length);
 		this.sizes = sizes;
+		if (count().signum() == 0) // an empty digit: there is no number at all
+			unrank(BigInteger.ZERO);
+	}
+
+	@Override
+	protected BigNumber newInstance() {
+		return new VarBaseNumber(sizes);
 	}
 
 	@Override
@@ -27,4 +35,17 @@ public class VarBaseNumber extends BigNumber {
 
 	}
 
+	@Override
+	protected void decode(BigInteger rank) {
+		for (int i = size - 1; i >= 0; i--) {
+			BigInteger[] qr = rank.divideAndRemainder(BigInteger.valueOf(sizes[i]));
+			base[i] = qr[1].intValue();
+			rank = qr[0];
+		}
+	}
+
+	public BigInteger count() {
+		return Combinatorics.countProduct(sizes);
+	}
+
 }
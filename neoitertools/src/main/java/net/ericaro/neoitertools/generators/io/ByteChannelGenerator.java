@@ -0,0 +1,116 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.ByteSource;
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * The bytes of a {@link ReadableByteChannel} or of an {@link InputStream}, read through a reused direct buffer.
+ * <p>
+ * Use nextByte() or drain() to read them without boxing. Large drains are read straight into the array. The channel must
+ * be blocking. It is not closed at the end of the bytes, close() does it.
+ * </p>
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/ByteChannelGenerator">ByteChannelGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class ByteChannelGenerator implements Generator<Byte>, ByteSource, Closeable {
+
+	public static final int DEFAULT_BUFFER = 64 << 10;
+
+	private final ReadableByteChannel channel;
+	private final ByteBuffer buffer;
+	private boolean eof = false;
+
+	public ByteChannelGenerator(InputStream in) {
+		this(Channels.newChannel(in), DEFAULT_BUFFER);
+	}
+
+	public ByteChannelGenerator(ReadableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER);
+	}
+
+	/**
+	 * @param channel
+	 * @param bufferSize
+	 *            the size of the buffer
+	 */
+	public ByteChannelGenerator(ReadableByteChannel channel, int bufferSize) {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("bufferSize must be >= 1");
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		buffer.flip(); // empty
+	}
+
+	/**
+	 * @return true if there is at least one byte in the buffer, false at the end of the channel.
+	 */
+	private boolean fill() {
+		if (buffer.hasRemaining())
+			return true;
+		if (eof)
+			return false;
+		buffer.clear();
+		read(buffer);
+		buffer.flip();
+		return buffer.hasRemaining();
+	}
+
+	/**
+	 * read at least one byte into target, unless at the end of the channel.
+	 */
+	private void read(ByteBuffer target) {
+		try {
+			int n = 0;
+			while (n == 0)
+				n = channel.read(target);
+			if (n < 0)
+				eof = true;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public Byte next() throws NoSuchElementException {
+		return nextByte();
+	}
+
+	public byte nextByte() throws NoSuchElementException {
+		if (!fill())
+			throw new NoSuchElementException();
+		return buffer.get();
+	}
+
+	public int drain(byte[] array, int offset, int length) {
+		if (length == 0)
+			return 0;
+		if (!buffer.hasRemaining() && length >= buffer.capacity() && !eof) { // no need to copy
+			ByteBuffer target = ByteBuffer.wrap(array, offset, length);
+			read(target);
+			return target.position() - offset;
+		}
+		if (!fill())
+			return 0;
+		int n = Math.min(length, buffer.remaining());
+		buffer.get(array, offset, n);
+		return n;
+	}
+
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
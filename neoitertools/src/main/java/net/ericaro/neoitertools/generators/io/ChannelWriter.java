@@ -0,0 +1,145 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Base of the file writers: data is copied into a few direct buffers, written all at once by a gather write when they
+ * are full.
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/ChannelWriter">ChannelWriter's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public abstract class ChannelWriter implements Closeable {
+
+	public static final int DEFAULT_BUFFER = 1 << 20;
+	private static final int BUFFERS = 4;
+
+	private final FileChannel channel;
+	private final SyncPolicy sync;
+	private final ByteBuffer[] pool;
+	private final ByteBuffer[] pending; // the buffers to write, plus one buffer of the caller
+	private int count = 0; // of pending buffers
+	private long written = 0;
+
+	/**
+	 * the buffer being filled.
+	 */
+	protected ByteBuffer buffer;
+
+	/**
+	 * @param path
+	 *            the file to write, it is created or truncated
+	 * @param bufferSize
+	 *            the total size of the buffers
+	 * @param sync
+	 *            when to force the data to the storage device
+	 * @throws IOException
+	 */
+	protected ChannelWriter(Path path, int bufferSize, SyncPolicy sync) throws IOException {
+		if (bufferSize < BUFFERS * 16)
+			throw new IllegalArgumentException("bufferSize must be >= " + BUFFERS * 16);
+		this.sync = sync;
+		pool = new ByteBuffer[BUFFERS];
+		for (int i = 0; i < BUFFERS; i++)
+			pool[i] = ByteBuffer.allocateDirect(bufferSize / BUFFERS);
+		pending = new ByteBuffer[BUFFERS + 1];
+		buffer = pool[0];
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * @return the size of each buffer, the largest amount of data that can be copied at once.
+	 */
+	protected int chunk() {
+		return pool[0].capacity();
+	}
+
+	/**
+	 * set the byte order of all the buffers.
+	 */
+	protected void order(ByteOrder order) {
+		for (ByteBuffer b : pool)
+			b.order(order);
+	}
+
+	/**
+	 * switch to the next empty buffer, writing them all if they are full.
+	 */
+	protected void nextBuffer() throws IOException {
+		if (buffer.position() == 0)
+			return;
+		buffer.flip();
+		pending[count++] = buffer;
+		if (count == BUFFERS)
+			flush();
+		else
+			buffer = pool[count];
+	}
+
+	/**
+	 * write the buffers filled so far, followed by data, without copying it. data is consumed.
+	 */
+	protected void writeThrough(ByteBuffer data) throws IOException {
+		if (buffer.position() > 0) {
+			buffer.flip();
+			pending[count++] = buffer;
+		}
+		pending[count++] = data;
+		flush();
+	}
+
+	/**
+	 * write the full buffers, and the one being filled.
+	 */
+	public void flush() throws IOException {
+		if (buffer.position() > 0 && (count == 0 || pending[count - 1] != buffer)) {
+			buffer.flip();
+			pending[count++] = buffer;
+		}
+		long remaining = 0;
+		for (int i = 0; i < count; i++)
+			remaining += pending[i].remaining();
+		while (remaining > 0) {
+			long n = channel.write(pending, 0, count);
+			remaining -= n;
+			written += n;
+		}
+		for (int i = 0; i < count; i++)
+			pending[i] = null;
+		count = 0;
+		buffer = pool[0];
+		for (ByteBuffer b : pool)
+			b.clear();
+		if (sync == SyncPolicy.ON_FLUSH)
+			channel.force(false);
+	}
+
+	/**
+	 * @return the number of bytes written to the file so far, without the buffered ones.
+	 */
+	public long written() {
+		return written;
+	}
+
+	/**
+	 * flush and close the file.
+	 */
+	public void close() throws IOException {
+		if (!channel.isOpen())
+			return;
+		try {
+			flush();
+			if (sync == SyncPolicy.ON_CLOSE)
+				channel.force(false);
+		} finally {
+			channel.close();
+		}
+	}
+}
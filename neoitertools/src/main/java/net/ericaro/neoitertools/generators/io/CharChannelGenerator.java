@@ -0,0 +1,131 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.CharSource;
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * The chars of a {@link ReadableByteChannel} or of an {@link InputStream}, decoded on the fly.
+ * <p>
+ * Bytes are read into a reused direct buffer, and decoded by a {@link CharsetDecoder} into a reused char buffer, one
+ * buffer at a time: a char split between two reads is decoded when its last byte arrives. Malformed input is replaced.
+ * Use nextChar() or drain() to read the chars without boxing. The channel must be blocking. It is not closed at the end
+ * of the chars, close() does it.
+ * </p>
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/CharChannelGenerator">CharChannelGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class CharChannelGenerator implements Generator<Character>, CharSource, Closeable {
+
+	public static final int DEFAULT_BUFFER = 64 << 10;
+
+	private final ReadableByteChannel channel;
+	private final CharsetDecoder decoder;
+	private final ByteBuffer bytes;
+	private final CharBuffer chars;
+	private boolean eof = false; // no more bytes in the channel
+	private boolean done = false; // no more chars in the decoder
+
+	public CharChannelGenerator(InputStream in, Charset charset) {
+		this(Channels.newChannel(in), charset, DEFAULT_BUFFER);
+	}
+
+	public CharChannelGenerator(ReadableByteChannel channel, Charset charset) {
+		this(channel, charset, DEFAULT_BUFFER);
+	}
+
+	/**
+	 * @param channel
+	 * @param charset
+	 * @param bufferSize
+	 *            the size of the byte buffer
+	 */
+	public CharChannelGenerator(ReadableByteChannel channel, Charset charset, int bufferSize) {
+		if (bufferSize < 16)
+			throw new IllegalArgumentException("bufferSize must be >= 16");
+		this.channel = channel;
+		this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.bytes = ByteBuffer.allocateDirect(bufferSize);
+		// the decoder works faster on a heap buffer, that is copied from by drain
+		this.chars = CharBuffer.allocate((int) (bufferSize * decoder.maxCharsPerByte()) + 2);
+		bytes.flip(); // empty
+		chars.flip();
+	}
+
+	/**
+	 * @return true if there is at least one char in the buffer, false at the end of the channel.
+	 */
+	private boolean fill() {
+		if (chars.hasRemaining())
+			return true;
+		if (done)
+			return false;
+		chars.clear();
+		try {
+			while (true) {
+				CoderResult result = decoder.decode(bytes, chars, eof);
+				if (result.isOverflow())
+					break;
+				if (eof) { // underflow, everything is decoded
+					decoder.flush(chars);
+					done = true;
+					break;
+				}
+				if (chars.position() > 0) // return what is decoded, the next bytes may take a while to come
+					break;
+				bytes.compact();
+				int n = 0;
+				while (n == 0)
+					n = channel.read(bytes);
+				if (n < 0)
+					eof = true;
+				bytes.flip();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		chars.flip();
+		return chars.hasRemaining();
+	}
+
+	public Character next() throws NoSuchElementException {
+		return nextChar();
+	}
+
+	public char nextChar() throws NoSuchElementException {
+		if (!fill())
+			throw new NoSuchElementException();
+		return chars.get();
+	}
+
+	public int drain(char[] array, int offset, int length) {
+		if (length == 0 || !fill())
+			return 0;
+		int n = Math.min(length, chars.remaining());
+		chars.get(array, offset, n);
+		return n;
+	}
+
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.DoubleSource;
+import net.ericaro.neoitertools.Skippable;
+
+/**
+ * The values of a double field in the records of a {@link RecordGenerator}, read without boxing.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/DoubleColumnGenerator">DoubleColumnGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class DoubleColumnGenerator implements Generator<Double>, DoubleSource, Skippable, Closeable {
+
+	private final RecordGenerator records;
+	private final int fieldOffset;
+
+	public DoubleColumnGenerator(RecordGenerator records, int fieldOffset) {
+		if (fieldOffset < 0)
+			throw new IllegalArgumentException("fieldOffset must be >= 0");
+		this.records = records;
+		this.fieldOffset = fieldOffset;
+	}
+
+	public Double next() throws NoSuchElementException {
+		return nextDouble();
+	}
+
+	public double nextDouble() throws NoSuchElementException {
+		ByteBuffer record = records.next();
+		return record.getDouble(record.position() + fieldOffset);
+	}
+
+	public int drain(double[] buffer, int offset, int length) {
+		int n = 0;
+		try {
+			while (n < length) {
+				buffer[offset + n] = nextDouble();
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+
+	public void skip(long n) {
+		records.skip(n);
+	}
+
+	public void close() {
+		records.close();
+	}
+}
@@ -0,0 +1,384 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * Split a line into delimited fields, like CSV.
+ * <p>
+ * Each field is returned as the same reused {@link CharSequence} view, only valid until the next call to next(): call
+ * toString() to keep it, or parse it directly with {@link #parseInt(CharSequence)}, {@link #parseLong(CharSequence)}
+ * or {@link #parseDouble(CharSequence)}. The offsets of the field in the line are given by {@link #start()} and
+ * {@link #end()}. A line of n delimiters has n+1 fields, an empty line has one empty field.
+ * </p>
+ * <p>
+ * Without quote nor escape char, fields are found by a plain search of the delimiter. With a quote char, a field
+ * starting with a quote ends at the next quote, and may contain delimiters; a doubled quote inside stands for the quote
+ * itself (as in CSV). With an escape char, the next char is taken as is. Only the fields that contain escapes are copied,
+ * the other are views on the line. A quoted field cannot span several lines.
+ * </p>
+ * <p>
+ * {@link #reset(CharSequence)} reuses the generator for the next line.
+ * </p>
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/FieldGenerator">FieldGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class FieldGenerator implements Generator<CharSequence> {
+
+	private static final char NONE = 0;
+
+	// exact powers of ten for the fast path of parseDouble
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+			1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private final char delimiter;
+	private final char quote;
+	private final char escape;
+	private final Field field = new Field();
+
+	private CharSequence line;
+	private int position; // start of the next field
+	private boolean done;
+
+	/**
+	 * a view on a range of the line, or on the unescaped copy of the field.
+	 */
+	private static class Field implements CharSequence {
+		private final StringBuilder copy = new StringBuilder();
+		private CharSequence seq;
+		private int start;
+		private int length;
+
+		void range(CharSequence line, int start, int end) {
+			this.seq = line;
+			this.start = start;
+			this.length = end - start;
+		}
+
+		void copy() {
+			this.seq = copy;
+			this.start = 0;
+			this.length = copy.length();
+		}
+
+		public int length() {
+			return length;
+		}
+
+		public char charAt(int index) {
+			if (index < 0 || index >= length)
+				throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+			return seq.charAt(start + index);
+		}
+
+		public CharSequence subSequence(int start, int end) {
+			return seq.subSequence(this.start + start, this.start + end);
+		}
+
+		public String toString() {
+			return seq.subSequence(start, start + length).toString();
+		}
+	}
+
+	/**
+	 * a view on bytes as ISO-8859-1 chars.
+	 */
+	private static class Bytes implements CharSequence {
+		private final ByteBuffer bytes;
+		private final int start;
+		private final int length;
+
+		Bytes(ByteBuffer bytes, int start, int length) {
+			this.bytes = bytes;
+			this.start = start;
+			this.length = length;
+		}
+
+		public int length() {
+			return length;
+		}
+
+		public char charAt(int index) {
+			return (char) (bytes.get(start + index) & 0xFF);
+		}
+
+		public CharSequence subSequence(int start, int end) {
+			return new Bytes(bytes, this.start + start, end - start);
+		}
+
+		public String toString() {
+			char[] c = new char[length];
+			for (int i = 0; i < length; i++)
+				c[i] = charAt(i);
+			return new String(c);
+		}
+	}
+
+	/**
+	 * plain split on a delimiter, without quotes.
+	 */
+	public FieldGenerator(CharSequence line, char delimiter) {
+		this(line, delimiter, NONE, NONE);
+	}
+
+	/**
+	 * @param line
+	 * @param delimiter
+	 * @param quote
+	 *            the quote char, or 0 for none
+	 * @param escape
+	 *            the escape char, or 0 for none
+	 */
+	public FieldGenerator(CharSequence line, char delimiter, char quote, char escape) {
+		if (delimiter == quote || delimiter == escape)
+			throw new IllegalArgumentException("the delimiter cannot be the quote or the escape char");
+		this.delimiter = delimiter;
+		this.quote = quote;
+		this.escape = escape;
+		reset(line);
+	}
+
+	/**
+	 * split a char array, without copy.
+	 */
+	public FieldGenerator(char[] line, int offset, int length, char delimiter, char quote, char escape) {
+		this(CharBuffer.wrap(line, offset, length), delimiter, quote, escape);
+	}
+
+	/**
+	 * split the remaining bytes of a buffer, without copy, read as ISO-8859-1. UTF-8 lines can be split too, as the
+	 * delimiters are ASCII, but only their numeric fields can be parsed directly.
+	 */
+	public FieldGenerator(ByteBuffer line, char delimiter, char quote, char escape) {
+		this(new Bytes(line, line.position(), line.remaining()), delimiter, quote, escape);
+	}
+
+	/**
+	 * CSV (RFC 4180): comma delimited, with double quotes.
+	 */
+	public static FieldGenerator csv(CharSequence line) {
+		return new FieldGenerator(line, ',', '"', NONE);
+	}
+
+	/**
+	 * start splitting another line.
+	 */
+	public FieldGenerator reset(CharSequence line) {
+		this.line = line;
+		this.position = 0;
+		this.done = false;
+		return this;
+	}
+
+	/**
+	 * @return the offset in the line of the first char of the last field returned, after the opening quote if any.
+	 */
+	public int start() {
+		return field.seq == line ? field.start : -1;
+	}
+
+	/**
+	 * @return the offset in the line after the last char of the last field returned, before the closing quote if any.
+	 *         For a field with escapes, start() and end() are -1, as it is not a range of the line.
+	 */
+	public int end() {
+		return field.seq == line ? field.start + field.length : -1;
+	}
+
+	public CharSequence next() throws NoSuchElementException {
+		if (done)
+			throw new NoSuchElementException();
+		int length = line.length();
+		int i = position;
+		if (quote == NONE && escape == NONE) { // fast path
+			while (i < length && line.charAt(i) != delimiter)
+				i++;
+			field.range(line, position, i);
+		} else if (quote != NONE && i < length && line.charAt(i) == quote)
+			i = quoted(i + 1, length);
+		else
+			i = unquoted(i, length);
+		// i is on the delimiter, or at the end of the line
+		done = i >= length;
+		position = i + 1;
+		return field;
+	}
+
+	/**
+	 * read a field starting after a quote.
+	 */
+	private int quoted(int start, int length) {
+		boolean copy = false;
+		int i = start;
+		while (i < length) {
+			char c = line.charAt(i);
+			if (c == escape && escape != NONE && escape != quote && i + 1 < length) {
+				copy = copyFrom(copy, start, i);
+				field.copy.append(line.charAt(i + 1));
+				i += 2;
+			} else if (c == quote) {
+				if (i + 1 < length && line.charAt(i + 1) == quote) { // doubled quote
+					copy = copyFrom(copy, start, i);
+					field.copy.append(quote);
+					i += 2;
+				} else
+					break;
+			} else {
+				if (copy)
+					field.copy.append(c);
+				i++;
+			}
+		}
+		int end = i++; // skip the closing quote
+		if (i < length && line.charAt(i) != delimiter) { // text after the closing quote is kept as is
+			copy = copyFrom(copy, start, end);
+			while (i < length && line.charAt(i) != delimiter)
+				field.copy.append(line.charAt(i++));
+		}
+		if (copy)
+			field.copy();
+		else
+			field.range(line, start, Math.min(end, length));
+		return i;
+	}
+
+	/**
+	 * read a field that may contain escapes.
+	 */
+	private int unquoted(int start, int length) {
+		boolean copy = false;
+		int i = start;
+		while (i < length) {
+			char c = line.charAt(i);
+			if (c == delimiter)
+				break;
+			if (c == escape && escape != NONE && i + 1 < length) {
+				copy = copyFrom(copy, start, i);
+				field.copy.append(line.charAt(i + 1));
+				i += 2;
+			} else {
+				if (copy)
+					field.copy.append(c);
+				i++;
+			}
+		}
+		if (copy)
+			field.copy();
+		else
+			field.range(line, start, i);
+		return i;
+	}
+
+	/**
+	 * switch to the copy of the field, if not already done, copying [start, end[.
+	 */
+	private boolean copyFrom(boolean copy, int start, int end) {
+		if (!copy) {
+			field.copy.setLength(0);
+			field.copy.append(line, start, end);
+		}
+		return true;
+	}
+
+	/**
+	 * Parse a decimal int, like {@link Integer#parseInt(String)}, without creating a String.
+	 *
+	 * @throws NumberFormatException
+	 */
+	public static int parseInt(CharSequence s) throws NumberFormatException {
+		long value = parseLong(s);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+			throw new NumberFormatException("For input string: \"" + s + "\"");
+		return (int) value;
+	}
+
+	/**
+	 * Parse a decimal long, like {@link Long#parseLong(String)}, without creating a String.
+	 *
+	 * @throws NumberFormatException
+	 */
+	public static long parseLong(CharSequence s) throws NumberFormatException {
+		int length = s.length();
+		if (length == 0)
+			throw new NumberFormatException("For input string: \"\"");
+		int i = 0;
+		boolean negative = false;
+		char first = s.charAt(0);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			if (++i == length)
+				throw new NumberFormatException("For input string: \"" + s + "\"");
+		}
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long value = 0; // accumulated negatively, as the negative range is larger
+		for (; i < length; i++) {
+			int digit = s.charAt(i) - '0';
+			if (digit < 0 || digit > 9 || value < limit / 10 || (value = value * 10) < limit + digit)
+				throw new NumberFormatException("For input string: \"" + s + "\"");
+			value -= digit;
+		}
+		return negative ? value : -value;
+	}
+
+	/**
+	 * Parse a double, like {@link Double#parseDouble(String)}. Plain decimal numbers of up to 15 significant digits
+	 * with a small exponent are parsed without creating a String, the other ones fall back to Double.parseDouble.
+	 *
+	 * @throws NumberFormatException
+	 */
+	public static double parseDouble(CharSequence s) throws NumberFormatException {
+		int length = s.length();
+		int i = 0;
+		boolean negative = false;
+		if (length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+			negative = s.charAt(0) == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0; // significant digits in mantissa
+		int exponent = 0;
+		boolean any = false; // at least one digit
+		boolean dot = false;
+		for (; i < length; i++) {
+			char c = s.charAt(i);
+			if (c >= '0' && c <= '9') {
+				any = true;
+				if (mantissa != 0 || c != '0')
+					digits++;
+				mantissa = mantissa * 10 + (c - '0');
+				if (dot)
+					exponent--;
+			} else if (c == '.' && !dot)
+				dot = true;
+			else
+				break;
+		}
+		if (i < length && any && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+			int e = 0;
+			boolean negativeExponent = false;
+			int j = i + 1;
+			if (j < length && (s.charAt(j) == '-' || s.charAt(j) == '+'))
+				negativeExponent = s.charAt(j++) == '-';
+			int start = j;
+			for (; j < length && j - start < 6; j++) {
+				char c = s.charAt(j);
+				if (c < '0' || c > '9')
+					break;
+				e = e * 10 + (c - '0');
+			}
+			if (j > start) {
+				exponent += negativeExponent ? -e : e;
+				i = j;
+			}
+		}
+		if (i < length || !any || digits > 15 || exponent < -22 || exponent > 22) // not a plain number, or not exact
+			return Double.parseDouble(s.toString());
+		double value = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+		return negative ? -value : value;
+	}
+}
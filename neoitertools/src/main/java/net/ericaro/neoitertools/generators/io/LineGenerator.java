@@ -0,0 +1,250 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * Read the lines of a text file, through a memory mapped region of the file that slides along it.
+ * <p>
+ * The lines are returned as a {@link CharSequence} view on the mapped bytes, without the line terminator ("\n" or
+ * "\r\n"). <b>The same view is reused</b>: it is only valid until the next call to next(). Call toString() on it to
+ * keep a copy. The view can be given directly to anything reading a CharSequence, like
+ * {@link net.ericaro.neoitertools.Itertools#iter(CharSequence)}.
+ * </p>
+ * <p>
+ * Newlines are searched 8 bytes at a time. Lines made of ASCII bytes (and every line in ISO-8859-1) are read in
+ * place, other lines are decoded into a reused buffer. The charset must encode '\n' as the single byte 10 and never
+ * use that byte otherwise, which is true for UTF-8, ISO-8859-x and most single byte charsets, but not for UTF-16.
+ * </p>
+ * <p>
+ * The file is closed at the end of the lines, or by close().
+ * </p>
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/LineGenerator">LineGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class LineGenerator implements Generator<CharSequence>, Closeable {
+
+	public static final int DEFAULT_REGION = 64 << 20;
+
+	private static final long ONES = 0x0101010101010101L;
+	private static final long HIGHS = 0x8080808080808080L;
+	private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+
+	private final FileChannel channel;
+	private final long size;
+	private final int region;
+	private final boolean latin1;
+	private final Line line;
+
+	private ByteBuffer buffer; // the mapped region
+	private long offset; // position of the region in the file
+	private int position; // start of the next line in the region
+	private boolean lineAscii = true; // no byte >= 128 in the current line so far
+
+	/**
+	 * a view on the current line, either the bytes themselves, or their decoded chars.
+	 */
+	private static class Line implements CharSequence {
+		private final CharsetDecoder decoder;
+		private ByteBuffer bytes;
+		private int start;
+		private int length;
+		private CharBuffer chars = CharBuffer.allocate(256);
+		private boolean decoded;
+
+		Line(Charset charset) {
+			decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+
+		void bytes(ByteBuffer bytes, int start, int length) {
+			this.bytes = bytes;
+			this.start = start;
+			this.length = length;
+			this.decoded = false;
+		}
+
+		void decode(ByteBuffer bytes, int start, int length) {
+			ByteBuffer in = bytes.duplicate();
+			in.limit(start + length).position(start);
+			int capacity = (int) (length * (double) decoder.maxCharsPerByte()) + 1;
+			if (chars.capacity() < capacity)
+				chars = CharBuffer.allocate(Math.max(capacity, 2 * chars.capacity()));
+			chars.clear();
+			decoder.reset();
+			decoder.decode(in, chars, true); // errors are replaced, and chars is large enough
+			decoder.flush(chars);
+			chars.flip();
+			this.length = chars.remaining();
+			this.decoded = true;
+		}
+
+		public int length() {
+			return length;
+		}
+
+		public char charAt(int index) {
+			if (index < 0 || index >= length)
+				throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+			return decoded ? chars.get(index) : (char) (bytes.get(start + index) & 0xFF);
+		}
+
+		public CharSequence subSequence(int start, int end) {
+			return toString().substring(start, end);
+		}
+
+		public String toString() {
+			if (decoded)
+				return chars.toString();
+			char[] c = new char[length];
+			for (int i = 0; i < length; i++)
+				c[i] = (char) (bytes.get(start + i) & 0xFF);
+			return new String(c);
+		}
+	}
+
+	public LineGenerator(Path path, Charset charset) throws IOException {
+		this(path, charset, DEFAULT_REGION);
+	}
+
+	/**
+	 * @param path
+	 * @param charset
+	 * @param region
+	 *            size of the mapped region, it is enlarged for lines that are longer
+	 * @throws IOException
+	 */
+	public LineGenerator(Path path, Charset charset, int region) throws IOException {
+		ByteBuffer newline = charset.encode("\n");
+		if (newline.remaining() != 1 || newline.get(0) != '\n')
+			throw new IllegalArgumentException(charset + " is not supported, it does not encode '\\n' as a single byte");
+		if (region < 16)
+			throw new IllegalArgumentException("region must be >= 16");
+		this.region = region;
+		this.latin1 = charset.name().equals("ISO-8859-1");
+		this.line = new Line(charset);
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.size = channel.size();
+	}
+
+	public CharSequence next() throws NoSuchElementException {
+		if (buffer == null) {
+			if (offset >= size || !channel.isOpen()) {
+				close();
+				throw new NoSuchElementException();
+			}
+			map(region);
+		}
+		int scanned = position; // everything before has no newline
+		while (true) {
+			int end = buffer.limit();
+			int found = scan(scanned, end);
+			if (found >= 0)
+				return line(found, found + 1);
+			if (offset + end >= size) { // last line, without terminator
+				if (position == end) {
+					close();
+					throw new NoSuchElementException();
+				}
+				return line(end, end);
+			}
+			// the line goes beyond the region: map it again from the start of the line
+			int length = end - position;
+			map(Math.max(region, 2L * length));
+			scanned = length;
+		}
+	}
+
+	/**
+	 * @return the index of the first newline in [from, end[, or -1. Updates lineAscii.
+	 */
+	private int scan(int from, int end) {
+		long high = 0;
+		int i = from;
+		for (; i + 8 <= end; i += 8) {
+			long word = buffer.getLong(i);
+			long x = word ^ NEWLINES;
+			long zeros = (x - ONES) & ~x & HIGHS; // exact for the first zero byte
+			if (zeros != 0) {
+				int n = Long.numberOfTrailingZeros(zeros) >>> 3; // index of the newline in the word
+				high |= word & ((1L << (n << 3)) - 1);
+				lineAscii &= (high & HIGHS) == 0;
+				return i + n;
+			}
+			high |= word;
+		}
+		for (; i < end; i++) {
+			byte b = buffer.get(i);
+			if (b == '\n')
+				break;
+			high |= b & 0xFF;
+		}
+		lineAscii &= (high & HIGHS) == 0;
+		return i < end ? i : -1;
+	}
+
+	/**
+	 * set the view to the line from position to end (excluded), and move to next.
+	 */
+	private CharSequence line(int end, int next) {
+		int start = position;
+		if (end > start && buffer.get(end - 1) == '\r')
+			end--;
+		if (lineAscii || latin1)
+			line.bytes(buffer, start, end - start);
+		else
+			line.decode(buffer, start, end - start);
+		position = next;
+		lineAscii = true;
+		if (position == buffer.limit() && offset + position < size) {
+			offset += position;
+			buffer = null; // map the next region on the next call
+			position = 0;
+		}
+		return line;
+	}
+
+	/**
+	 * map size bytes from the current position.
+	 */
+	private void map(long size) {
+		long start = offset + position;
+		long length = Math.min(Math.min(size, this.size - start), Integer.MAX_VALUE);
+		try {
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+			buffer = mapped.order(ByteOrder.LITTLE_ENDIAN); // the first byte is the lowest
+		} catch (IOException e) {
+			close();
+			throw new UncheckedIOException(e);
+		}
+		offset = start;
+		position = 0;
+	}
+
+	/**
+	 * close the file. The mapped region is released when garbage collected.
+	 */
+	public void close() {
+		buffer = null;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
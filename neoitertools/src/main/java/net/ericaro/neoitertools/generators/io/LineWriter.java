@@ -0,0 +1,124 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * Write lines to a text file, each followed by "\n".
+ * <p>
+ * Lines are encoded straight into direct buffers, written by gather writes, see {@link ChannelWriter}. ASCII chars are
+ * copied without the encoder when the charset encodes them as themselves (UTF-8, ISO-8859-1...). Unmappable chars are
+ * replaced.
+ * </p>
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/LineWriter">LineWriter's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class LineWriter extends ChannelWriter {
+
+	private final CharsetEncoder encoder;
+	private final boolean ascii; // chars < 128 are encoded as the same byte
+	private final byte[] newline;
+
+	public LineWriter(Path path, Charset charset) throws IOException {
+		this(path, charset, DEFAULT_BUFFER, SyncPolicy.NONE);
+	}
+
+	/**
+	 * @param path
+	 *            the file to write, it is created or truncated
+	 * @param charset
+	 * @param bufferSize
+	 *            the total size of the buffers
+	 * @param sync
+	 *            when to force the data to the storage device
+	 * @throws IOException
+	 */
+	public LineWriter(Path path, Charset charset, int bufferSize, SyncPolicy sync) throws IOException {
+		super(path, bufferSize, sync);
+		encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		ByteBuffer b = charset.encode("\n");
+		newline = new byte[b.remaining()];
+		b.get(newline);
+		ascii = isAscii(charset);
+	}
+
+	private static boolean isAscii(Charset charset) {
+		char[] chars = new char[128];
+		for (int i = 0; i < 128; i++)
+			chars[i] = (char) i;
+		try {
+			ByteBuffer b = charset.newEncoder().encode(CharBuffer.wrap(chars));
+			if (b.remaining() != 128)
+				return false;
+			for (int i = 0; i < 128; i++)
+				if (b.get(i) != i)
+					return false;
+			return true;
+		} catch (CharacterCodingException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * write a line and its terminator.
+	 */
+	public void write(CharSequence line) throws IOException {
+		int length = line.length();
+		int i = 0;
+		if (ascii)
+			while (i < length) {
+				char c = line.charAt(i);
+				if (c >= 128)
+					break;
+				if (!buffer.hasRemaining())
+					nextBuffer();
+				buffer.put((byte) c);
+				i++;
+			}
+		if (i < length)
+			encode(CharBuffer.wrap(line, i, length));
+		if (buffer.remaining() < newline.length)
+			nextBuffer();
+		buffer.put(newline);
+	}
+
+	private void encode(CharBuffer chars) throws IOException {
+		encoder.reset();
+		CoderResult result;
+		while ((result = encoder.encode(chars, buffer, true)).isOverflow())
+			nextBuffer();
+		while ((result = encoder.flush(buffer)).isOverflow())
+			nextBuffer();
+		if (result.isError())
+			result.throwException();
+	}
+
+	/**
+	 * write all the lines of the generator.
+	 * 
+	 * @return the number of lines written
+	 */
+	public long writeAll(Generator<? extends CharSequence> lines) throws IOException {
+		long n = 0;
+		try {
+			while (true) {
+				write(lines.next());
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+}
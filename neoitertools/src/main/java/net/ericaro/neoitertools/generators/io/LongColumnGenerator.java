@@ -0,0 +1,58 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.LongSource;
+import net.ericaro.neoitertools.Skippable;
+
+/**
+ * The values of a long field in the records of a {@link RecordGenerator}, read without boxing.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/LongColumnGenerator">LongColumnGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class LongColumnGenerator implements Generator<Long>, LongSource, Skippable, Closeable {
+
+	private final RecordGenerator records;
+	private final int fieldOffset;
+
+	public LongColumnGenerator(RecordGenerator records, int fieldOffset) {
+		if (fieldOffset < 0)
+			throw new IllegalArgumentException("fieldOffset must be >= 0");
+		this.records = records;
+		this.fieldOffset = fieldOffset;
+	}
+
+	public Long next() throws NoSuchElementException {
+		return nextLong();
+	}
+
+	public long nextLong() throws NoSuchElementException {
+		ByteBuffer record = records.next();
+		return record.getLong(record.position() + fieldOffset);
+	}
+
+	public int drain(long[] buffer, int offset, int length) {
+		int n = 0;
+		try {
+			while (n < length) {
+				buffer[offset + n] = nextLong();
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+
+	public void skip(long n) {
+		records.skip(n);
+	}
+
+	public void close() {
+		records.close();
+	}
+}
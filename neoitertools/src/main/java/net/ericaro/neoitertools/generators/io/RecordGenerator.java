@@ -0,0 +1,248 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Copyable;
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Skippable;
+
+/**
+ * Read a binary file as a sequence of records, through a memory mapped region of the file that slides along it.
+ * <p>
+ * Records are either of a fixed size, or length prefixed: an int giving the size of the record, followed by the record
+ * itself. Each record is returned as the same reused {@link ByteBuffer}, only valid until the next call to next(): its
+ * position and limit surround the record, so relative gets read the record fields in order, and absolute gets must
+ * add position() to the field offset. The buffer is read-only.
+ * </p>
+ * <p>
+ * Fixed size records can be read from a byte range of the file only: the records starting inside the range. Ranges
+ * that partition the file partition the records, see {@link #split(Path, int, ByteOrder, int)} to process a file on
+ * several threads. Their values can also be read as primitive columns, see {@link #ints(int)}.
+ * </p>
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/RecordGenerator">RecordGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class RecordGenerator implements Generator<ByteBuffer>, Copyable<ByteBuffer>, Skippable, Closeable {
+
+	public static final int DEFAULT_REGION = 64 << 20;
+
+	private final Path path;
+	private final FileChannel channel;
+	private final int recordSize; // 0 for length prefixed records
+	private final ByteOrder order;
+	private final int region;
+	private final long end; // of the records
+
+	private long position; // of the next record in the file
+	private ByteBuffer buffer; // the mapped region
+	private long offset; // of the region in the file
+
+	/**
+	 * read the whole file as big endian fixed size records. Trailing bytes that do not make a full record are ignored.
+	 *
+	 * @param path
+	 * @param recordSize
+	 * @throws IOException
+	 */
+	public RecordGenerator(Path path, int recordSize) throws IOException {
+		this(path, recordSize, ByteOrder.BIG_ENDIAN, 0, Long.MAX_VALUE);
+	}
+
+	/**
+	 * read the fixed size records starting in [from, to[.
+	 *
+	 * @param path
+	 * @param recordSize
+	 * @param order
+	 *            byte order of the records
+	 * @param from
+	 *            first byte of the range
+	 * @param to
+	 *            end of the range (excluded), it may be greater than the file size
+	 * @throws IOException
+	 */
+	public RecordGenerator(Path path, int recordSize, ByteOrder order, long from, long to) throws IOException {
+		this(path, check(recordSize), order, from, to, DEFAULT_REGION);
+	}
+
+	private static int check(int recordSize) {
+		if (recordSize < 1)
+			throw new IllegalArgumentException("recordSize must be >= 1");
+		return recordSize;
+	}
+
+	RecordGenerator(Path path, int recordSize, ByteOrder order, long from, long to, int region) throws IOException {
+		this.path = path;
+		this.recordSize = recordSize;
+		this.order = order;
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		long size = channel.size();
+		if (recordSize > 0) {
+			// the records starting in the range
+			long first = (Math.max(from, 0) + recordSize - 1) / recordSize;
+			long last = (Math.min(to, size - size % recordSize) + recordSize - 1) / recordSize;
+			this.position = first * recordSize;
+			this.end = Math.max(last, first) * recordSize;
+			this.region = Math.max(region - region % recordSize, recordSize);
+		} else {
+			this.position = 0;
+			this.end = size;
+			this.region = region;
+		}
+	}
+
+	/**
+	 * read a file of length prefixed records: each record is preceded by its length as an int.
+	 *
+	 * @param path
+	 * @param order
+	 *            byte order of the lengths and of the records
+	 * @throws IOException
+	 */
+	public static RecordGenerator lengthPrefixed(Path path, ByteOrder order) throws IOException {
+		return new RecordGenerator(path, 0, order, 0, Long.MAX_VALUE, DEFAULT_REGION);
+	}
+
+	/**
+	 * split a file of fixed size records into parts of about the same number of records.
+	 *
+	 * @param path
+	 * @param recordSize
+	 * @param order
+	 * @param parts
+	 *            number of parts
+	 * @return the generators of each part, in the order of the file
+	 * @throws IOException
+	 */
+	public static List<RecordGenerator> split(Path path, int recordSize, ByteOrder order, int parts) throws IOException {
+		check(recordSize);
+		if (parts < 1)
+			throw new IllegalArgumentException("parts must be >= 1");
+		long records = Files.size(path) / recordSize;
+		List<RecordGenerator> list = new ArrayList<RecordGenerator>(parts);
+		for (int i = 0; i < parts; i++)
+			list.add(new RecordGenerator(path, recordSize, order, records * i / parts * recordSize, records * (i + 1) / parts * recordSize));
+		return list;
+	}
+
+	public ByteBuffer next() throws NoSuchElementException {
+		if (position >= end) {
+			close();
+			throw new NoSuchElementException();
+		}
+		int length = recordSize;
+		long start = position;
+		if (recordSize == 0) {
+			if (end - position < 4)
+				throw new IllegalStateException("truncated record length at " + position);
+			map(position, 4);
+			length = buffer.getInt((int) (position - offset));
+			start += 4;
+			if (length < 0 || length > end - start)
+				throw new IllegalStateException("invalid record length " + length + " at " + position);
+		}
+		map(start, length);
+		int p = (int) (start - offset);
+		buffer.limit(p + length).position(p);
+		position = start + length;
+		return buffer;
+	}
+
+	/**
+	 * make sure that [start, start+length[ is in the mapped region.
+	 */
+	private void map(long start, int length) {
+		if (buffer != null && start >= offset && start + length <= offset + buffer.capacity()) {
+			buffer.clear();
+			return;
+		}
+		long size = Math.min(Math.max(region, (long) length), end - start);
+		try {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size).asReadOnlyBuffer().order(order);
+		} catch (IOException e) {
+			close();
+			throw new UncheckedIOException(e);
+		}
+		offset = start;
+	}
+
+	public void skip(long n) {
+		if (recordSize == 0)
+			try {
+				for (long i = 0; i < n; i++)
+					next();
+			} catch (NoSuchElementException e) {
+			}
+		else
+			position = n >= (end - position) / recordSize ? end : position + n * recordSize;
+	}
+
+	/**
+	 * @return a new generator, on its own file channel, reading the remaining records.
+	 */
+	public RecordGenerator copy() {
+		try {
+			if (recordSize == 0) {
+				RecordGenerator copy = lengthPrefixed(path, order);
+				copy.position = position;
+				return copy;
+			}
+			return new RecordGenerator(path, recordSize, order, position, end, region);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param fieldOffset
+	 *            offset of an int field in the records
+	 * @return the values of this field in the remaining records. It reads a copy of this generator, so several columns
+	 *         can be zipped together.
+	 */
+	public IntColumnGenerator ints(int fieldOffset) {
+		return new IntColumnGenerator(copy(), fieldOffset);
+	}
+
+	/**
+	 * @param fieldOffset
+	 *            offset of a long field in the records
+	 * @return the values of this field in the remaining records, see {@link #ints(int)}
+	 */
+	public LongColumnGenerator longs(int fieldOffset) {
+		return new LongColumnGenerator(copy(), fieldOffset);
+	}
+
+	/**
+	 * @param fieldOffset
+	 *            offset of a double field in the records
+	 * @return the values of this field in the remaining records, see {@link #ints(int)}
+	 */
+	public DoubleColumnGenerator doubles(int fieldOffset) {
+		return new DoubleColumnGenerator(copy(), fieldOffset);
+	}
+
+	/**
+	 * close the file. The mapped region is released when garbage collected.
+	 */
+	public void close() {
+		buffer = null;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
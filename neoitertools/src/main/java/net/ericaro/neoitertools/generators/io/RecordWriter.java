@@ -0,0 +1,89 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * Write binary records to a file, as they are or length prefixed, the format read by {@link RecordGenerator}.
+ * <p>
+ * Small records are copied into direct buffers, written by gather writes, see {@link ChannelWriter}. Records larger
+ * than half a buffer are not copied: they are written by the same gather write as the buffers before them.
+ * </p>
+ *
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/RecordWriter">RecordWriter's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class RecordWriter extends ChannelWriter {
+
+	private final boolean lengthPrefixed;
+
+	/**
+	 * write records as they are.
+	 */
+	public RecordWriter(Path path) throws IOException {
+		this(path, false, ByteOrder.BIG_ENDIAN, DEFAULT_BUFFER, SyncPolicy.NONE);
+	}
+
+	/**
+	 * @param path
+	 *            the file to write, it is created or truncated
+	 * @param lengthPrefixed
+	 *            true to write the length of each record before it, as an int
+	 * @param order
+	 *            the byte order of the lengths
+	 * @param bufferSize
+	 *            the total size of the buffers
+	 * @param sync
+	 *            when to force the data to the storage device
+	 * @throws IOException
+	 */
+	public RecordWriter(Path path, boolean lengthPrefixed, ByteOrder order, int bufferSize, SyncPolicy sync) throws IOException {
+		super(path, bufferSize, sync);
+		this.lengthPrefixed = lengthPrefixed;
+		order(order);
+	}
+
+	/**
+	 * write the remaining bytes of record. Its position is left unchanged.
+	 */
+	public void write(ByteBuffer record) throws IOException {
+		int length = record.remaining();
+		if (lengthPrefixed) {
+			if (buffer.remaining() < 4)
+				nextBuffer();
+			buffer.putInt(length);
+		}
+		if (length > chunk() / 2) {
+			writeThrough(record.duplicate());
+			return;
+		}
+		if (buffer.remaining() < length)
+			nextBuffer();
+		int position = record.position();
+		buffer.put(record);
+		record.position(position);
+	}
+
+	/**
+	 * write all the records of the generator.
+	 * 
+	 * @return the number of records written
+	 */
+	public long writeAll(Generator<? extends ByteBuffer> records) throws IOException {
+		long n = 0;
+		try {
+			while (true) {
+				write(records.next());
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+}
@@ -0,0 +1,26 @@
+package net.ericaro.neoitertools.generators.io;
+
+/**
+ * When a writer forces its data to the storage device, see {@link java.nio.channels.FileChannel#force(boolean)}.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/SyncPolicy">SyncPolicy's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public enum SyncPolicy {
+
+	/**
+	 * never, the operating system writes the data when it wants.
+	 */
+	NONE,
+
+	/**
+	 * once, when the writer is closed.
+	 */
+	ON_CLOSE,
+
+	/**
+	 * after each write of the buffers, and when the writer is closed.
+	 */
+	ON_FLUSH
+}
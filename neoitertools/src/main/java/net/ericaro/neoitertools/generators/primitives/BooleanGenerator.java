@@ -2,18 +2,22 @@ package net.ericaro.neoitertools.generators.primitives;
 
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
 /** A simple Generator over a boolean array
  * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/BooleanGenerator">BooleanGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class BooleanGenerator implements Generator<Boolean> {
+public class BooleanGenerator implements Generator<Boolean>, Rewindable, Copyable<Boolean>, Skippable {
 
 	
 	private boolean[] array;
 	int index, end;
+	private int mark;
 	public BooleanGenerator(boolean[] array) {
 		this(array, 0, array.length);
 	}
@@ -21,6 +25,7 @@ public class BooleanGenerator implements Generator<Boolean> {
 	public BooleanGenerator(boolean[] array, int from, int to) {
 		this.array = array;
 		index = from;
+		mark = from;
 		end = to;
 	}
 
@@ -29,4 +34,20 @@ public class BooleanGenerator implements Generator<Boolean> {
 		return array[index++];
 	}
 
+	public void skip(long n) {
+		index = n >= end - index ? end : index + (int) n;
+	}
+
+	public void mark() {
+		mark = index;
+	}
+
+	public void rewind() {
+		index = mark;
+	}
+
+	public BooleanGenerator copy() {
+		return new BooleanGenerator(array, index, end);
+	}
+
 }
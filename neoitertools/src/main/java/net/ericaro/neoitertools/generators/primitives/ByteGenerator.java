@@ -2,18 +2,23 @@ package net.ericaro.neoitertools.generators.primitives;
 
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.ByteSource;
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
 /** A simple Generator over a byte array
  * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/ByteGenerator">ByteGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class ByteGenerator implements Generator<Byte> {
+public class ByteGenerator implements Generator<Byte>, ByteSource, Rewindable, Copyable<Byte>, Skippable {
 
 	
 	private byte[] array;
 	int index, end;
+	private int mark;
 	public ByteGenerator(byte[] array) {
 		this(array, 0, array.length);
 	}
@@ -21,6 +26,7 @@ public class ByteGenerator implements Generator<Byte> {
 	public ByteGenerator(byte[] array, int from, int to) {
 		this.array = array;
 		index = from;
+		mark = from;
 		end = to;
 	}
 
@@ -29,4 +35,32 @@ public class ByteGenerator implements Generator<Byte> {
 		return array[index++];
 	}
 
+	public byte nextByte() throws NoSuchElementException{
+		if (index >= end) throw new NoSuchElementException();
+		return array[index++];
+	}
+
+	public int drain(byte[] buffer, int offset, int length) {
+		int n = Math.min(length, end - index);
+		System.arraycopy(array, index, buffer, offset, n);
+		index += n;
+		return n;
+	}
+
+	public void skip(long n) {
+		index = n >= end - index ? end : index + (int) n;
+	}
+
+	public void mark() {
+		mark = index;
+	}
+
+	public void rewind() {
+		index = mark;
+	}
+
+	public ByteGenerator copy() {
+		return new ByteGenerator(array, index, end);
+	}
+
 }
@@ -2,18 +2,23 @@ package net.ericaro.neoitertools.generators.primitives;
 
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.CharSource;
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
 /** A simple Generator over a char array
  * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/CharacterGenerator">CharacterGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class CharacterGenerator implements Generator<Character> {
+public class CharacterGenerator implements Generator<Character>, CharSource, Rewindable, Copyable<Character>, Skippable {
 
 	
 	private char[] array;
 	int index, end;
+	private int mark;
 	public CharacterGenerator(char[] array) {
 		this(array, 0, array.length);
 	}
@@ -21,6 +26,7 @@ public class CharacterGenerator implements Generator<Character> {
 	public CharacterGenerator(char[] array, int from, int to) {
 		this.array = array;
 		index = from;
+		mark = from;
 		end = to;
 	}
 
@@ -29,4 +35,32 @@ public class CharacterGenerator implements Generator<Character> {
 		return array[index++];
 	}
 
+	public char nextChar() throws NoSuchElementException{
+		if (index >= end) throw new NoSuchElementException();
+		return array[index++];
+	}
+
+	public int drain(char[] buffer, int offset, int length) {
+		int n = Math.min(length, end - index);
+		System.arraycopy(array, index, buffer, offset, n);
+		index += n;
+		return n;
+	}
+
+	public void skip(long n) {
+		index = n >= end - index ? end : index + (int) n;
+	}
+
+	public void mark() {
+		mark = index;
+	}
+
+	public void rewind() {
+		index = mark;
+	}
+
+	public CharacterGenerator copy() {
+		return new CharacterGenerator(array, index, end);
+	}
+
 }
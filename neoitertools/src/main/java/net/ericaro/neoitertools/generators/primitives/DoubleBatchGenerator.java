@@ -0,0 +1,48 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.DoubleSource;
+
+/**
+ * Regroup a DoubleSource into batches of n doubles. Full batches are written in the same reusable array, which is only
+ * valid until the next call to next(). The last batch, if partial, is a new shorter array.
+ * 
+ * Batches are filled through {@link DoubleSource#drain(double[], int, int)}, not double by double.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/DoubleBatchGenerator">DoubleBatchGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class DoubleBatchGenerator implements Generator<double[]> {
+
+	private final DoubleSource source;
+	private final double[] buffer;
+	private boolean exhausted = false;
+
+	public DoubleBatchGenerator(DoubleSource source, int n) {
+		if (n < 1)
+			throw new IllegalArgumentException("n must be >= 1");
+		this.source = source;
+		this.buffer = new double[n];
+	}
+
+	public double[] next() throws NoSuchElementException {
+		if (exhausted)
+			throw new NoSuchElementException();
+		int n = 0;
+		while (n < buffer.length) {
+			int read = source.drain(buffer, n, buffer.length - n);
+			if (read == 0) {
+				exhausted = true;
+				break;
+			}
+			n += read;
+		}
+		if (n == 0)
+			throw new NoSuchElementException();
+		return n == buffer.length ? buffer : Arrays.copyOf(buffer, n);
+	}
+}
@@ -2,18 +2,23 @@ package net.ericaro.neoitertools.generators.primitives;
 
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
+import net.ericaro.neoitertools.DoubleSource;
 /** A simple Generator over a double array
  * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/DoubleGenerator">DoubleGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class DoubleGenerator implements Generator<Double> {
+public class DoubleGenerator implements Generator<Double>, DoubleSource, Rewindable, Copyable<Double>, Skippable {
 
 	
 	private double[] array;
 	int index, end;
+	private int mark;
 	public DoubleGenerator(double[] array) {
 		this(array, 0, array.length);
 	}
@@ -21,6 +26,7 @@ public class DoubleGenerator implements Generator<Double> {
 	public DoubleGenerator(double[] array, int from, int to) {
 		this.array = array;
 		index = from;
+		mark = from;
 		end = to;
 	}
 
@@ -29,4 +35,32 @@ public class DoubleGenerator implements Generator<Double> {
 		return array[index++];
 	}
 
+	public double nextDouble() throws NoSuchElementException{
+		if (index >= end) throw new NoSuchElementException();
+		return array[index++];
+	}
+
+	public int drain(double[] buffer, int offset, int length) {
+		int n = Math.min(length, end - index);
+		System.arraycopy(array, index, buffer, offset, n);
+		index += n;
+		return n;
+	}
+
+	public void skip(long n) {
+		index = n >= end - index ? end : index + (int) n;
+	}
+
+	public void mark() {
+		mark = index;
+	}
+
+	public void rewind() {
+		index = mark;
+	}
+
+	public DoubleGenerator copy() {
+		return new DoubleGenerator(array, index, end);
+	}
+
 }
@@ -0,0 +1,91 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.DoubleSource;
+
+/**
+ * Minimum (or maximum) of every window of <code>size</code> consecutive doubles, sliding one double at a time. The candidates
+ * are kept in a monotonic deque: a value is dropped as soon as a newer one beats it, so each value is pushed and popped
+ * once, in amortized O(1) whatever the size of the window.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/DoubleSlidingExtremum">DoubleSlidingExtremum's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class DoubleSlidingExtremum implements Generator<Double>, DoubleSource {
+
+	private final DoubleSource source;
+	private final int size;
+	private final boolean max;
+	// the deque, as a ring of (position, value), from the oldest (the extremum) to the newest
+	private final long[] positions;
+	private final double[] values;
+	private int first = 0;
+	private int count = 0;
+	private long position = 0; // position of the next value read
+	private boolean started = false;
+
+	/**
+	 * @param source
+	 * @param size
+	 *            the size of the window
+	 * @param max
+	 *            true for the maximum, false for the minimum
+	 */
+	public DoubleSlidingExtremum(DoubleSource source, int size, boolean max) {
+		if (size < 1)
+			throw new IllegalArgumentException("size must be >= 1");
+		this.source = source;
+		this.size = size;
+		this.max = max;
+		this.positions = new long[size];
+		this.values = new double[size];
+	}
+
+	public Double next() throws NoSuchElementException {
+		return nextDouble();
+	}
+
+	public double nextDouble() throws NoSuchElementException {
+		if (!started) {
+			for (int i = 0; i < size; i++)
+				push(source.nextDouble());
+			started = true;
+		} else
+			push(source.nextDouble());
+		return values[first];
+	}
+
+	private void push(double value) {
+		// drop the newest values that can no longer be the extremum
+		while (count > 0) {
+			double last = values[(first + count - 1) % size];
+			if (max ? last > value : last < value)
+				break;
+			count--;
+		}
+		// drop the oldest one if it left the window
+		if (count > 0 && positions[first] <= position - size) {
+			first = (first + 1) % size;
+			count--;
+		}
+		int i = (first + count) % size;
+		positions[i] = position++;
+		values[i] = value;
+		count++;
+	}
+
+	public int drain(double[] buffer, int offset, int length) {
+		int n = 0;
+		try {
+			while (n < length) {
+				buffer[offset + n] = nextDouble();
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+}
@@ -0,0 +1,83 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.DoubleSource;
+
+/**
+ * Sum of every window of <code>size</code> consecutive doubles, sliding one double at a time. Each sum is computed from the
+ * previous one by adding the new value and subtracting the oldest one, in O(1) whatever the size of the window.
+ * Additions and subtractions are compensated (Kahan-Neumaier summation), so that the sum does not drift over long runs.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/DoubleSlidingSum">DoubleSlidingSum's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class DoubleSlidingSum implements Generator<Double>, DoubleSource {
+
+	private final DoubleSource source;
+	private final double[] ring; // the window values, to subtract them
+	private int head = 0; // position of the oldest value
+	private double sum = 0;
+	private double compensation = 0; // the low order bits lost by sum, running sum and subtraction would drift otherwise
+	private boolean started = false;
+
+	public DoubleSlidingSum(DoubleSource source, int size) {
+		if (size < 1)
+			throw new IllegalArgumentException("size must be >= 1");
+		this.source = source;
+		this.ring = new double[size];
+	}
+
+	/**
+	 * @return the size of the window.
+	 */
+	public int size() {
+		return ring.length;
+	}
+
+	public Double next() throws NoSuchElementException {
+		return nextDouble();
+	}
+
+	public double nextDouble() throws NoSuchElementException {
+		if (!started) {
+			for (int i = 0; i < ring.length; i++) {
+				double value = source.nextDouble();
+				ring[i] = value;
+				add(value);
+			}
+			started = true;
+		} else {
+			double value = source.nextDouble();
+			add(value);
+			add(-ring[head]);
+			ring[head] = value;
+			if (++head == ring.length)
+				head = 0;
+		}
+		return sum + compensation;
+	}
+
+	private void add(double value) {
+		double t = sum + value;
+		if (Math.abs(sum) >= Math.abs(value))
+			compensation += (sum - t) + value;
+		else
+			compensation += (value - t) + sum;
+		sum = t;
+	}
+
+	public int drain(double[] buffer, int offset, int length) {
+		int n = 0;
+		try {
+			while (n < length) {
+				buffer[offset + n] = nextDouble();
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+}
@@ -0,0 +1,57 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.Arrays;
+
+/**
+ * A read-only view over the ring buffer of an {@link DoubleWindowGenerator}: the last size() doubles, the oldest first.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/DoubleWindow">DoubleWindow's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class DoubleWindow {
+
+	private final double[] ring;
+	private int head = 0; // position of the oldest value
+
+	DoubleWindow(int size) {
+		ring = new double[size];
+	}
+
+	/** replace the oldest value.
+	 */
+	void push(double value) {
+		ring[head] = value;
+		if (++head == ring.length)
+			head = 0;
+	}
+
+	public int size() {
+		return ring.length;
+	}
+
+	/**
+	 * @param index
+	 *            0 for the oldest value, size()-1 for the newest
+	 */
+	public double get(int index) {
+		if (index < 0 || index >= ring.length)
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + ring.length);
+		int i = head + index;
+		return ring[i < ring.length ? i : i - ring.length];
+	}
+
+	/**
+	 * @return a copy of the window, the oldest value first.
+	 */
+	public double[] toArray() {
+		double[] copy = new double[ring.length];
+		System.arraycopy(ring, head, copy, 0, ring.length - head);
+		System.arraycopy(ring, 0, copy, ring.length - head, head);
+		return copy;
+	}
+
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
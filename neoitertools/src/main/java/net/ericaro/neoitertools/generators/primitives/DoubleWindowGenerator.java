@@ -0,0 +1,43 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.DoubleSource;
+
+/**
+ * Sliding windows of <code>size</code> consecutive doubles, moving <code>step</code> doubles at a time, without boxing. The
+ * same {@link DoubleWindow} is returned over and over, updated in place.
+ * 
+ * Only full windows are returned: if the source has less than size doubles, there is none.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/DoubleWindowGenerator">DoubleWindowGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class DoubleWindowGenerator implements Generator<DoubleWindow> {
+
+	private final DoubleSource source;
+	private final int step;
+	private final DoubleWindow window;
+	private boolean started = false;
+
+	public DoubleWindowGenerator(DoubleSource source, int size, int step) {
+		if (size < 1 || step < 1)
+			throw new IllegalArgumentException("size and step must be >= 1");
+		this.source = source;
+		this.step = step;
+		this.window = new DoubleWindow(size);
+	}
+
+	public DoubleWindow next() throws NoSuchElementException {
+		int size = window.size();
+		int n = started ? step : size;
+		for (int i = n - size; i > 0; i--) // the values between two windows
+			source.nextDouble();
+		for (int i = Math.min(n, size); i > 0; i--)
+			window.push(source.nextDouble());
+		started = true;
+		return window;
+	}
+}
@@ -2,18 +2,22 @@ package net.ericaro.neoitertools.generators.primitives;
 
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
 /** A simple Generator over a float array
  * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/FloatGenerator">FloatGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class FloatGenerator implements Generator<Float> {
+public class FloatGenerator implements Generator<Float>, Rewindable, Copyable<Float>, Skippable {
 
 	
 	private float[] array;
 	int index, end;
+	private int mark;
 	public FloatGenerator(float[] array) {
 		this(array, 0, array.length);
 	}
@@ -21,6 +25,7 @@ public class FloatGenerator implements Generator<Float> {
 	public FloatGenerator(float[] array, int from, int to) {
 		this.array = array;
 		index = from;
+		mark = from;
 		end = to;
 	}
 
@@ -29,4 +34,20 @@ public class FloatGenerator implements Generator<Float> {
 		return array[index++];
 	}
 
+	public void skip(long n) {
+		index = n >= end - index ? end : index + (int) n;
+	}
+
+	public void mark() {
+		mark = index;
+	}
+
+	public void rewind() {
+		index = mark;
+	}
+
+	public FloatGenerator copy() {
+		return new FloatGenerator(array, index, end);
+	}
+
 }
@@ -0,0 +1,48 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.IntSource;
+
+/**
+ * Regroup an IntSource into batches of n ints. Full batches are written in the same reusable array, which is only
+ * valid until the next call to next(). The last batch, if partial, is a new shorter array.
+ * 
+ * Batches are filled through {@link IntSource#drain(int[], int, int)}, not int by int.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/IntBatchGenerator">IntBatchGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class IntBatchGenerator implements Generator<int[]> {
+
+	private final IntSource source;
+	private final int[] buffer;
+	private boolean exhausted = false;
+
+	public IntBatchGenerator(IntSource source, int n) {
+		if (n < 1)
+			throw new IllegalArgumentException("n must be >= 1");
+		this.source = source;
+		this.buffer = new int[n];
+	}
+
+	public int[] next() throws NoSuchElementException {
+		if (exhausted)
+			throw new NoSuchElementException();
+		int n = 0;
+		while (n < buffer.length) {
+			int read = source.drain(buffer, n, buffer.length - n);
+			if (read == 0) {
+				exhausted = true;
+				break;
+			}
+			n += read;
+		}
+		if (n == 0)
+			throw new NoSuchElementException();
+		return n == buffer.length ? buffer : Arrays.copyOf(buffer, n);
+	}
+}
@@ -0,0 +1,43 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.IntSource;
+
+/**
+ * Sliding windows of <code>size</code> consecutive ints, moving <code>step</code> ints at a time, without boxing. The
+ * same {@link IntWindow} is returned over and over, updated in place.
+ * 
+ * Only full windows are returned: if the source has less than size ints, there is none.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/IntWindowGenerator">IntWindowGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class IntWindowGenerator implements Generator<IntWindow> {
+
+	private final IntSource source;
+	private final int step;
+	private final IntWindow window;
+	private boolean started = false;
+
+	public IntWindowGenerator(IntSource source, int size, int step) {
+		if (size < 1 || step < 1)
+			throw new IllegalArgumentException("size and step must be >= 1");
+		this.source = source;
+		this.step = step;
+		this.window = new IntWindow(size);
+	}
+
+	public IntWindow next() throws NoSuchElementException {
+		int size = window.size();
+		int n = started ? step : size;
+		for (int i = n - size; i > 0; i--) // the values between two windows
+			source.nextInt();
+		for (int i = Math.min(n, size); i > 0; i--)
+			window.push(source.nextInt());
+		started = true;
+		return window;
+	}
+}
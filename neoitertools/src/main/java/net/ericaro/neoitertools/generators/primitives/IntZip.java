@@ -0,0 +1,61 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.IntSource;
+
+/**
+ * Column oriented zip of IntSources: each call to next(row) writes the i-th int of every column into the caller's
+ * array, without boxing nor allocating. Stops with the shortest column.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/IntZip">IntZip's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class IntZip {
+
+	private final IntSource[] columns;
+
+	public IntZip(IntSource... columns) {
+		this.columns = columns;
+	}
+
+	/**
+	 * @return the number of columns, that is the length of a row.
+	 */
+	public int width() {
+		return columns.length;
+	}
+
+	/**
+	 * read the next row.
+	 * 
+	 * @param row
+	 *            an array of at least width() ints, filled with the next value of each column
+	 * @throws NoSuchElementException
+	 *             when a column is exhausted
+	 */
+	public void next(int[] row) throws NoSuchElementException {
+		for (int i = 0; i < columns.length; i++)
+			row[i] = columns[i].nextInt();
+	}
+
+	/**
+	 * read up to rows.length rows at once.
+	 * 
+	 * @param rows
+	 *            arrays of at least width() ints
+	 * @return the number of rows read, less than rows.length only when a column is exhausted
+	 */
+	public int next(int[][] rows) {
+		int n = 0;
+		try {
+			while (n < rows.length) {
+				next(rows[n]);
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+}
@@ -2,18 +2,23 @@ package net.ericaro.neoitertools.generators.primitives;
 
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
+import net.ericaro.neoitertools.IntSource;
 /** A simple Generator over a int array
  * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/IntegerGenerator">IntegerGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class IntegerGenerator implements Generator<Integer> {
+public class IntegerGenerator implements Generator<Integer>, IntSource, Rewindable, Copyable<Integer>, Skippable {
 
 	
 	private int[] array;
 	int index, end;
+	private int mark;
 	public IntegerGenerator(int[] array) {
 		this(array, 0, array.length);
 	}
@@ -21,6 +26,7 @@ public class IntegerGenerator implements Generator<Integer> {
 	public IntegerGenerator(int[] array, int from, int to) {
 		this.array = array;
 		index = from;
+		mark = from;
 		end = to;
 	}
 
@@ -29,4 +35,32 @@ public class IntegerGenerator implements Generator<Integer> {
 		return array[index++];
 	}
 
+	public int nextInt() throws NoSuchElementException{
+		if (index >= end) throw new NoSuchElementException();
+		return array[index++];
+	}
+
+	public int drain(int[] buffer, int offset, int length) {
+		int n = Math.min(length, end - index);
+		System.arraycopy(array, index, buffer, offset, n);
+		index += n;
+		return n;
+	}
+
+	public void skip(long n) {
+		index = n >= end - index ? end : index + (int) n;
+	}
+
+	public void mark() {
+		mark = index;
+	}
+
+	public void rewind() {
+		index = mark;
+	}
+
+	public IntegerGenerator copy() {
+		return new IntegerGenerator(array, index, end);
+	}
+
 }
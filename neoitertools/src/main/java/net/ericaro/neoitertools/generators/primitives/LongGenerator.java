@@ -2,18 +2,23 @@ package net.ericaro.neoitertools.generators.primitives;
 
 import java.util.NoSuchElementException;
 
+import net.ericaro.neoitertools.Copyable;
 import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
+import net.ericaro.neoitertools.Skippable;
+import net.ericaro.neoitertools.LongSource;
 /** A simple Generator over a long array
  * 
  * @author eric
  * @see <a href="http://code.google.com/p/neoitertools/wiki/LongGenerator">LongGenerator's wiki page</a>
 * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
  */
-public class LongGenerator implements Generator<Long> {
+public class LongGenerator implements Generator<Long>, LongSource, Rewindable, Copyable<Long>, Skippable {
 
 	
 	private long[] array;
 	int index, end;
+	private int mark;
 	public LongGenerator(long[] array) {
 		this(array, 0, array.length);
 	}
@@ -21,6 +26,7 @@ public class LongGenerator implements Generator<Long> {
 	public LongGenerator(long[] array, int from, int to) {
 		this.array = array;
 		index = from;
+		mark = from;
 		end = to;
 	}
 
@@ -29,4 +35,32 @@ public class LongGenerator implements Generator<Long> {
 		return array[index++];
 	}
 
+	public long nextLong() throws NoSuchElementException{
+		if (index >= end) throw new NoSuchElementException();
+		return array[index++];
+	}
+
+	public int drain(long[] buffer, int offset, int length) {
+		int n = Math.min(length, end - index);
+		System.arraycopy(array, index, buffer, offset, n);
+		index += n;
+		return n;
+	}
+
+	public void skip(long n) {
+		index = n >= end - index ? end : index + (int) n;
+	}
+
+	public void mark() {
+		mark = index;
+	}
+
+	public void rewind() {
+		index = mark;
+	}
+
+	public LongGenerator copy() {
+		return new LongGenerator(array, index, end);
+	}
+
 }
@@ -0,0 +1,72 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.LongSource;
+
+/**
+ * Sum of every window of <code>size</code> consecutive longs, sliding one long at a time. Each sum is computed from the
+ * previous one by adding the new value and subtracting the oldest one, in O(1) whatever the size of the window.
+ * The sum is exact as long as it does not overflow a long.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/LongSlidingSum">LongSlidingSum's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class LongSlidingSum implements Generator<Long>, LongSource {
+
+	private final LongSource source;
+	private final long[] ring; // the window values, to subtract them
+	private int head = 0; // position of the oldest value
+	private long sum = 0;
+	private boolean started = false;
+
+	public LongSlidingSum(LongSource source, int size) {
+		if (size < 1)
+			throw new IllegalArgumentException("size must be >= 1");
+		this.source = source;
+		this.ring = new long[size];
+	}
+
+	/**
+	 * @return the size of the window.
+	 */
+	public int size() {
+		return ring.length;
+	}
+
+	public Long next() throws NoSuchElementException {
+		return nextLong();
+	}
+
+	public long nextLong() throws NoSuchElementException {
+		if (!started) {
+			for (int i = 0; i < ring.length; i++) {
+				long value = source.nextLong();
+				ring[i] = value;
+				sum += value;
+			}
+			started = true;
+		} else {
+			long value = source.nextLong();
+			sum += value - ring[head];
+			ring[head] = value;
+			if (++head == ring.length)
+				head = 0;
+		}
+		return sum;
+	}
+
+	public int drain(long[] buffer, int offset, int length) {
+		int n = 0;
+		try {
+			while (n < length) {
+				buffer[offset + n] = nextLong();
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+}
@@ -0,0 +1,57 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.Arrays;
+
+/**
+ * A read-only view over the ring buffer of an {@link LongWindowGenerator}: the last size() longs, the oldest first.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/LongWindow">LongWindow's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class LongWindow {
+
+	private final long[] ring;
+	private int head = 0; // position of the oldest value
+
+	LongWindow(int size) {
+		ring = new long[size];
+	}
+
+	/** replace the oldest value.
+	 */
+	void push(long value) {
+		ring[head] = value;
+		if (++head == ring.length)
+			head = 0;
+	}
+
+	public int size() {
+		return ring.length;
+	}
+
+	/**
+	 * @param index
+	 *            0 for the oldest value, size()-1 for the newest
+	 */
+	public long get(int index) {
+		if (index < 0 || index >= ring.length)
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + ring.length);
+		int i = head + index;
+		return ring[i < ring.length ? i : i - ring.length];
+	}
+
+	/**
+	 * @return a copy of the window, the oldest value first.
+	 */
+	public long[] toArray() {
+		long[] copy = new long[ring.length];
+		System.arraycopy(ring, head, copy, 0, ring.length - head);
+		System.arraycopy(ring, 0, copy, ring.length - head, head);
+		return copy;
+	}
+
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
@@ -0,0 +1,43 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.LongSource;
+
+/**
+ * Sliding windows of <code>size</code> consecutive longs, moving <code>step</code> longs at a time, without boxing. The
+ * same {@link LongWindow} is returned over and over, updated in place.
+ * 
+ * Only full windows are returned: if the source has less than size longs, there is none.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/LongWindowGenerator">LongWindowGenerator's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class LongWindowGenerator implements Generator<LongWindow> {
+
+	private final LongSource source;
+	private final int step;
+	private final LongWindow window;
+	private boolean started = false;
+
+	public LongWindowGenerator(LongSource source, int size, int step) {
+		if (size < 1 || step < 1)
+			throw new IllegalArgumentException("size and step must be >= 1");
+		this.source = source;
+		this.step = step;
+		this.window = new LongWindow(size);
+	}
+
+	public LongWindow next() throws NoSuchElementException {
+		int size = window.size();
+		int n = started ? step : size;
+		for (int i = n - size; i > 0; i--) // the values between two windows
+			source.nextLong();
+		for (int i = Math.min(n, size); i > 0; i--)
+			window.push(source.nextLong());
+		started = true;
+		return window;
+	}
+}
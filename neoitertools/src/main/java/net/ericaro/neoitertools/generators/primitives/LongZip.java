@@ -0,0 +1,61 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.LongSource;
+
+/**
+ * Column oriented zip of LongSources: each call to next(row) writes the i-th long of every column into the caller's
+ * array, without boxing nor allocating. Stops with the shortest column.
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/LongZip">LongZip's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class LongZip {
+
+	private final LongSource[] columns;
+
+	public LongZip(LongSource... columns) {
+		this.columns = columns;
+	}
+
+	/**
+	 * @return the number of columns, that is the length of a row.
+	 */
+	public int width() {
+		return columns.length;
+	}
+
+	/**
+	 * read the next row.
+	 * 
+	 * @param row
+	 *            an array of at least width() longs, filled with the next value of each column
+	 * @throws NoSuchElementException
+	 *             when a column is exhausted
+	 */
+	public void next(long[] row) throws NoSuchElementException {
+		for (int i = 0; i < columns.length; i++)
+			row[i] = columns[i].nextLong();
+	}
+
+	/**
+	 * read up to rows.length rows at once.
+	 * 
+	 * @param rows
+	 *            arrays of at least width() longs
+	 * @return the number of rows read, less than rows.length only when a column is exhausted
+	 */
+	public int next(long[][] rows) {
+		int n = 0;
+		try {
+			while (n < rows.length) {
+				next(rows[n]);
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+}
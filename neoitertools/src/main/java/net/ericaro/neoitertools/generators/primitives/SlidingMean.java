@@ -0,0 +1,55 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.DoubleSource;
+import net.ericaro.neoitertools.Generator;
+
+/**
+ * Mean of every window of <code>size</code> consecutive values, sliding one value at a time: the sliding sum divided by
+ * the size of the window, in O(1).
+ * 
+ * @author eric
+ * @see <a href="http://code.google.com/p/neoitertools/wiki/SlidingMean">SlidingMean's wiki page</a>
+ * @see <a href="http://code.google.com/p/neoitertools/">neoitertools site</a>
+ */
+public class SlidingMean implements Generator<Double>, DoubleSource {
+
+	private final LongSlidingSum longSum; // one of the two is null
+	private final DoubleSlidingSum doubleSum;
+	private final double size;
+
+	public SlidingMean(LongSlidingSum sum) {
+		this.longSum = sum;
+		this.doubleSum = null;
+		this.size = sum.size();
+	}
+
+	public SlidingMean(DoubleSlidingSum sum) {
+		this.longSum = null;
+		this.doubleSum = sum;
+		this.size = sum.size();
+	}
+
+	public Double next() throws NoSuchElementException {
+		return nextDouble();
+	}
+
+	public double nextDouble() throws NoSuchElementException {
+		if (longSum != null)
+			return longSum.nextLong() / size;
+		return doubleSum.nextDouble() / size;
+	}
+
+	public int drain(double[] buffer, int offset, int length) {
+		int n = 0;
+		try {
+			while (n < length) {
+				buffer[offset + n] = nextDouble();
+				n++;
+			}
+		} catch (NoSuchElementException e) {
+		}
+		return n;
+	}
+}
@@ -2,9 +2,18 @@ package net.ericaro.neoitertools;
 
 import static net.ericaro.neoitertools.Itertools.*;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import net.ericaro.neoitertools.generators.ProgressGenerator;
+import net.ericaro.neoitertools.generators.combinatorics.Combinatorics;
+import net.ericaro.neoitertools.generators.primitives.IntegerGenerator;
+
 import org.junit.Test;
 
 public class ItertoolsTest {
@@ -79,6 +88,13 @@ public class ItertoolsTest {
 		assertList(map(str, combinations(iter("ABCD"), 2)), "AB", "AC", "AD", "BC", "BD", "CD");
 	}
 
+	@Test
+	public void testCombinationsWithReplacement() {
+		// combinations_with_replacement('ABC', 2) --> AA AB AC BB BC CC
+		System.out.println(">>> map(str, combinationsWithReplacement(iter(\"ABC\"), 2));");
+		assertList(map(str, combinationsWithReplacement(iter("ABC"), 2)), "AA", "AB", "AC", "BB", "BC", "CC");
+	}
+
 	@Test
 	public void testCount() {
 		System.out.println(">>> count();");
@@ -223,6 +239,51 @@ public class ItertoolsTest {
 
 	}
 
+	@Test
+	public void testPermutationsGeneratorOfTBoolean() {
+		// permutations('ABC') --> ABC ACB BAC BCA CAB CBA
+		System.out.println(">>> map(str, permutations(iter(\"ABC\"), true));");
+		assertList(map(str, permutations(iter("ABC"), true)), "ABC", "ACB", "BAC", "BCA", "CAB", "CBA");
+		System.out.println(">>> sorted(map(str, permutations(iter(\"ABC\"), false)));");
+		assertList(sorted(map(str, permutations(iter("ABC"), false))), "ABC", "ACB", "BAC", "BCA", "CAB", "CBA");
+	}
+
+	@Test
+	public void testPermutationsCount() {
+		ProgressGenerator<List<Character>> g = progress(permutations(iter("ABCD"), 2), Combinatorics.countSublists(4, 2));
+		assert g.count().intValue() == 12;
+		g.next();
+		g.next();
+		g.next();
+		assert g.emitted() == 3;
+		assert g.progress() == 0.25d;
+	}
+
+	@Test
+	public void testPermutationsView() {
+		System.out.println(">>> map(str, permutationsView(iter(\"ABC\"), 2));");
+		assertList(map(str, permutationsView(iter("ABC"), 2)), "AB", "BA", "AC", "CA", "BC", "CB");
+	}
+
+	@Test
+	public void testProduct() {
+		// product('ab', range(2)) --> a0 a1 b0 b1
+		System.out.println(">>> map(str, product(iter(Arrays.asList(iter(\"ab\"), iter(\"01\")))));");
+		assertList(map(str, product(iter(Arrays.asList(iter("ab"), iter("01"))))), "a0", "a1", "b0", "b1");
+		System.out.println(">>> map(str, product(iter(Arrays.asList(iter(\"ab\"), iter(\"01\"))), 2));");
+		assertList(slice(map(str, product(iter(Arrays.asList(iter("ab"), iter("01"))), 2)), 3), "a0a0", "a0a1", "a0b0");
+		// the first factor is streamed, it can be infinite
+		System.out.println(">>> product(iter(Arrays.asList(count(), range(2))));");
+		assertList(product(iter(Arrays.asList(count(), range(2)))), Arrays.asList(0, 0), Arrays.asList(0, 1), Arrays.asList(1, 0), Arrays.asList(1, 1), Arrays.asList(2, 0));
+	}
+
+	@Test
+	public void testProductView() {
+		// product('ab', range(2)) --> a0 a1 b0 b1
+		System.out.println(">>> map(str, productView(iter(Arrays.asList(iter(\"ab\"), iter(\"01\"))), 1));");
+		assertList(map(str, productView(iter(Arrays.asList(iter("ab"), iter("01"))), 1)), "a0", "a1", "b0", "b1");
+	}
+
 	// @Test
 	// public void testPermutationsGeneratorOfT() {
 	// System.out.println(">>> ");
@@ -371,6 +432,96 @@ public class ItertoolsTest {
 	// fail("Not yet implemented");
 	// }
 
+	@Test
+	public void testBatched() {
+		// batched('ABCDEFG', 3) --> ABC DEF G
+		System.out.println(">>> map(str, batched(iter(\"ABCDEFG\"), 3));");
+		assertList(map(str, batched(iter("ABCDEFG"), 3)), "ABC", "DEF", "G");
+	}
+
+	@Test
+	public void testParallelMap() {
+		System.out.println(">>> parallelMap(str, permutations(iter(\"ABC\")), 2, 4);");
+		assertList(parallelMap(str, permutations(iter("ABC")), 2, 4), "ABC", "ACB", "BAC", "BCA", "CAB", "CBA");
+	}
+
+	@Test
+	public void testPairwise() {
+		System.out.println(">>> pairwise(range(4));");
+		assertList(map(new Lambda<Pair<Integer, Integer>, Integer>() {
+			public Integer map(Pair<Integer, Integer> p) {
+				return p.f1 - p.f0;
+			}
+		}, pairwise(range(4))), 1, 1, 1);
+	}
+
+	@Test
+	public void testWindowed() {
+		// windowed('ABCDEFG', 3, 2) --> ABC CDE EFG
+		System.out.println(">>> map(str, windowed(iter(\"ABCDEFG\"), 3, 2));");
+		assertList(map(str, windowed(iter("ABCDEFG"), 3, 2)), "ABC", "CDE", "EFG");
+	}
+
+	@Test
+	public void testPrefetch() {
+		System.out.println(">>> map(str, prefetch(permutations(iter(\"ABC\")), 2));");
+		assertList(map(str, prefetch(permutations(iter("ABC")), 2)), "ABC", "ACB", "BAC", "BCA", "CAB", "CBA");
+	}
+
+	@Test
+	public void testSlidingMax() {
+		System.out.println(">>> slidingMax(new IntegerGenerator(new int[] { 1, 3, 2, 0, 0, 5 }), 3);");
+		assertList(slidingMax(new IntegerGenerator(new int[] { 1, 3, 2, 0, 0, 5 }), 3), 3L, 3L, 2L, 5L);
+	}
+
+	@Test
+	public void testTeeCopyable() {
+		List<Generator<Integer>> tees = tee(range(3), 2);
+		assert list(tees.get(0)).equals(Arrays.asList(0, 1, 2));
+		assert list(tees.get(1)).equals(Arrays.asList(0, 1, 2));
+	}
+
+	@Test
+	public void testReversedSorted() {
+		System.out.println(">>> reversed(sorted(iter(Arrays.asList(3, 1, 2))));");
+		assertList(reversed(sorted(iter(Arrays.asList(3, 1, 2)))), 3, 2, 1);
+	}
+
+	@Test
+	public void testMemoize() {
+		final int[] calls = new int[1];
+		Lambda<Integer, Integer> square = memoize(new Lambda<Integer, Integer>() {
+			public Integer map(Integer arg) {
+				calls[0]++;
+				return arg * arg;
+			}
+		}, 10);
+		System.out.println(">>> list(map(memoize(square, 10), cycle(range(3)))) // 12 items");
+		List<Integer> list = list(slice(map(square, cycle(range(3))), 12));
+		System.out.println(list);
+		assert list.equals(Arrays.asList(0, 1, 4, 0, 1, 4, 0, 1, 4, 0, 1, 4));
+		assert calls[0] == 3;
+	}
+
+	@Test
+	public void testWriteLines() throws IOException {
+		Path path = Files.createTempFile("lines", ".txt");
+		path.toFile().deleteOnExit();
+		Charset utf8 = Charset.forName("UTF-8");
+		assert writeLines(iter(Arrays.asList("a", "été", "")), path, utf8) == 3;
+		List<String> list = new ArrayList<String>();
+		for (CharSequence line : in(lines(path, utf8)))
+			list.add(line.toString());
+		assert list.equals(Arrays.asList("a", "été", "")) : list;
+	}
+
+	@Test
+	public void testZipLongest() {
+		// zip_longest('ABCD', 'xy', fillvalue='-') --> Ax By C- D-
+		System.out.println(">>> zipLongest(iter(Arrays.asList(iter(\"ABCD\"), iter(\"xy\"))), '-');");
+		assertList(map(str, zipLongest(iter(Arrays.asList(iter("ABCD"), iter("xy"))), '-')), "Ax", "By", "C-", "D-");
+	}
+
 	@Test
 	public void testZipGeneratorOfT1GeneratorOfT2() {
 		System.out.println(">>> for( Pair<Integer, Character>  p: in( zip(range(4), iter(\"ABCDE\") )))\n" + "...		System.out.println(p.f0+\" -> \"+ p.f1);");
@@ -0,0 +1,87 @@
+package net.ericaro.neoitertools;
+
+import static net.ericaro.neoitertools.Itertools.list;
+import static net.ericaro.neoitertools.Itertools.parallelMap;
+import static net.ericaro.neoitertools.Itertools.range;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class MemoizedLambdaTest {
+
+	static class Counter implements Lambda<Integer, Integer> {
+		final AtomicInteger calls = new AtomicInteger();
+
+		public Integer map(Integer arg) {
+			calls.incrementAndGet();
+			return arg == null ? null : arg + 1;
+		}
+	}
+
+	@Test
+	public void testHitsAndMisses() {
+		Counter counter = new Counter();
+		MemoizedLambda<Integer, Integer> m = new MemoizedLambda<Integer, Integer>(counter, 100);
+		for (int k = 0; k < 3; k++)
+			for (int i = 0; i < 50; i++)
+				assert m.map(i) == i + 1;
+		assert counter.calls.get() == 50;
+		assert m.misses() == 50;
+		assert m.hits() == 100;
+		assert m.evictions() == 0;
+		assert m.size() == 50;
+		System.out.println(m);
+	}
+
+	@Test
+	public void testBounded() {
+		MemoizedLambda<Integer, Integer> m = new MemoizedLambda<Integer, Integer>(new Counter(), 64);
+		for (int i = 0; i < 10000; i++)
+			m.map(i);
+		assert m.size() <= 64 : m.size();
+		assert m.evictions() == 10000 - m.size();
+	}
+
+	@Test
+	public void testScanResistant() {
+		// a few hot keys are used again and again, among a scan of keys seen once
+		Counter counter = new Counter();
+		MemoizedLambda<Integer, Integer> m = new MemoizedLambda<Integer, Integer>(counter, 10);
+		for (int i = 0; i < 1000; i++) {
+			m.map(-1);
+			m.map(-2);
+			m.map(i);
+		}
+		// the hot keys stay in the protected segment: only computed once
+		assert counter.calls.get() == 1002 : counter.calls.get();
+	}
+
+	@Test
+	public void testNull() {
+		Counter counter = new Counter();
+		MemoizedLambda<Integer, Integer> m = new MemoizedLambda<Integer, Integer>(counter, 2);
+		assert m.map(null) == null;
+		assert m.map(null) == null;
+		assert counter.calls.get() == 1;
+	}
+
+	@Test
+	public void testParallel() {
+		Counter counter = new Counter();
+		MemoizedLambda<Integer, Integer> m = new MemoizedLambda<Integer, Integer>(counter, 1000);
+		Lambda<Integer, Integer> modulo = new Lambda<Integer, Integer>() {
+			public Integer map(Integer arg) {
+				return arg % 100;
+			}
+		};
+		List<Integer> list = list(parallelMap(m, Itertools.map(modulo, range(10000)), 4, 64));
+		for (int i = 0; i < list.size(); i++)
+			assert list.get(i) == i % 100 + 1;
+		assert m.hits() + m.misses() == 10000;
+		assert m.misses() == counter.calls.get();
+		assert m.size() == 100;
+	}
+
+}
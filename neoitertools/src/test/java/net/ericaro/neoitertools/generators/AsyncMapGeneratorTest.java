@@ -0,0 +1,113 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Lambda;
+
+import org.junit.Test;
+
+public class AsyncMapGeneratorTest {
+
+	/** blocks for arg milliseconds */
+	Lambda<Integer, Integer> sleep = new Lambda<Integer, Integer>() {
+		public Integer map(Integer arg) {
+			try {
+				Thread.sleep(arg);
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			return arg;
+		}
+	};
+
+	@Test
+	public void testConcurrency() {
+		// 100 calls blocking 50ms each: 5s in sequence, about 100ms with 50 at once
+		long start = System.currentTimeMillis();
+		Generator<Integer> g = new AsyncMapGenerator<Integer, Integer>(sleep, new RepeatGenerator<Integer>(50, 100), 50, true, 0, TimeUnit.SECONDS);
+		assert list(g).size() == 100;
+		long elapsed = System.currentTimeMillis() - start;
+		assert elapsed < 2000 : elapsed + "ms";
+	}
+
+	@Test
+	public void testOrdered() {
+		Generator<Integer> g = new AsyncMapGenerator<Integer, Integer>(sleep, new GenericArrayGenerator<Integer>(60, 0, 30), 3, true, 0, TimeUnit.SECONDS);
+		assert g.next() == 60;
+		assert g.next() == 0;
+		assert g.next() == 30;
+	}
+
+	@Test
+	public void testUnordered() {
+		Generator<Integer> g = new AsyncMapGenerator<Integer, Integer>(sleep, new GenericArrayGenerator<Integer>(200, 0, 100), 3, false, 0, TimeUnit.SECONDS);
+		assert g.next() == 0;
+		assert g.next() == 100;
+		assert g.next() == 200;
+	}
+
+	@Test
+	public void testTimeout() {
+		Generator<Integer> g = new AsyncMapGenerator<Integer, Integer>(sleep, new GenericArrayGenerator<Integer>(0, 10000, 0), 3, true, 100, TimeUnit.MILLISECONDS);
+		assert g.next() == 0;
+		try {
+			g.next();
+			assert false : "the second call must time out";
+		} catch (RuntimeException e) {
+			assert e.getCause() instanceof TimeoutException : e;
+		}
+		assert g.next() == 0;
+	}
+
+	@Test
+	public void testCancel() {
+		long start = System.currentTimeMillis();
+		AsyncMapGenerator<Integer, Integer> g = new AsyncMapGenerator<Integer, Integer>(sleep, new GenericArrayGenerator<Integer>(0, 10000, 10000, 10000), 4,
+				false, 0, TimeUnit.SECONDS);
+		assert g.next() == 0;
+		g.cancel(); // the consumer stops: the blocked calls are interrupted
+		assert list(g).isEmpty();
+		assert System.currentTimeMillis() - start < 5000;
+	}
+
+	@Test
+	public void testTimeoutIgnoringInterrupt() {
+		// like a blocking FileInputStream read, the call goes on after its cancellation
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger max = new AtomicInteger();
+		Lambda<Integer, Integer> stubborn = new Lambda<Integer, Integer>() {
+			public Integer map(Integer arg) {
+				int n = running.incrementAndGet();
+				while (max.get() < n && !max.compareAndSet(max.get(), n))
+					;
+				long end = System.currentTimeMillis() + arg;
+				while (System.currentTimeMillis() < end)
+					try {
+						Thread.sleep(10);
+					} catch (InterruptedException e) {
+						// ignored
+					}
+				running.decrementAndGet();
+				return arg;
+			}
+		};
+		Generator<Integer> g = new AsyncMapGenerator<Integer, Integer>(stubborn, new GenericArrayGenerator<Integer>(500, 500, 0, 0), 2, true, 100,
+				TimeUnit.MILLISECONDS);
+		for (int i = 0; i < 2; i++)
+			try {
+				g.next();
+				assert false : "the call must time out";
+			} catch (RuntimeException e) {
+				assert e.getCause() instanceof TimeoutException : e;
+			}
+		assert g.next() == 0;
+		assert g.next() == 0;
+		assert max.get() <= 2 : max.get() + " calls at once";
+	}
+
+}
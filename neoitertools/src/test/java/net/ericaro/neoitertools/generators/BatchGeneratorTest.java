@@ -0,0 +1,20 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class BatchGeneratorTest {
+
+	@Test
+	public void testBatchGenerator() {
+		List<List<Integer>> list = list(new BatchGenerator<Integer>(new RangeGenerator(7), 3));
+		assert Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Arrays.asList(6)).equals(list) : list;
+		assert list(new BatchGenerator<Integer>(new RangeGenerator(6), 3)).size() == 2;
+		assert list(new BatchGenerator<Integer>(new RangeGenerator(0), 3)).isEmpty();
+	}
+
+}
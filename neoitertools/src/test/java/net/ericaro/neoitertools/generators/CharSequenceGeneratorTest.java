@@ -19,4 +19,17 @@ public class CharSequenceGeneratorTest {
 
 	}
 
+	@Test
+	public void testRewindAndCopy() {
+		CharSequenceGenerator g = new CharSequenceGenerator("ABCD");
+		g.next();
+		g.mark();
+		CharSequenceGenerator copy = g.copy();
+		assert g.next() == 'B';
+		assert g.next() == 'C';
+		g.rewind();
+		assert g.next() == 'B';
+		assert Arrays.asList('B', 'C', 'D').equals(list(copy)) : "the copy must be independent";
+	}
+
 }
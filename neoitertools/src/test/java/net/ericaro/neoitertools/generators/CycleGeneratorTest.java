@@ -1,5 +1,6 @@
 package net.ericaro.neoitertools.generators;
 
+import static net.ericaro.neoitertools.Itertools.iter;
 import static net.ericaro.neoitertools.Itertools.list;
 import static org.junit.Assert.*;
 
@@ -21,4 +22,18 @@ public class CycleGeneratorTest {
 		
 	}
 
+	@Test
+	public void testRewindable() {
+		RangeGenerator range = new RangeGenerator(5);
+		range.next(); // the cycle starts where the source is
+		List<Integer> list = list(new CycleGenerator<Integer>(range), 9);
+		assert Arrays.asList(1, 2, 3, 4, 1, 2, 3, 4, 1).equals(list) : list;
+	}
+
+	@Test
+	public void testEmpty() {
+		assert list(new CycleGenerator<Integer>(new RangeGenerator(0))).isEmpty();
+		assert list(new CycleGenerator<Integer>(iter(Arrays.<Integer> asList()))).isEmpty();
+	}
+
 }
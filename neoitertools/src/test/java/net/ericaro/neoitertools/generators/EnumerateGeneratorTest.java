@@ -27,4 +27,11 @@ public class EnumerateGeneratorTest {
 		assert xlist.equals(list) : "enumerate is a failure";
 	}
 
+	@Test
+	public void testSkip() {
+		EnumerateGenerator<Character> g = new EnumerateGenerator<Character>(new CharSequenceGenerator("abcd"));
+		g.skip(2);
+		assert new Index<Character>(2, 'c').equals(g.next());
+	}
+
 }
@@ -1,9 +1,18 @@
 package net.ericaro.neoitertools.generators;
 
 import static net.ericaro.neoitertools.Itertools.in;
+import static net.ericaro.neoitertools.Itertools.iter;
+import static net.ericaro.neoitertools.Itertools.list;
+import static net.ericaro.neoitertools.Itertools.permutations;
+import static net.ericaro.neoitertools.Itertools.permutationsView;
 import static net.ericaro.neoitertools.Itertools.range;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import net.ericaro.neoitertools.generators.combinatorics.TupleView;
+
 import org.junit.Test;
 
 public class GeneratorIteratorTest {
@@ -17,4 +26,13 @@ public class GeneratorIteratorTest {
 		
 	}
 
+	@Test
+	public void testReusedView() {
+		// the next item is not read before the loop body is done with the current one
+		List<List<Character>> list = new ArrayList<List<Character>>();
+		for (TupleView<Character> view : in(permutationsView(iter("ABC"))))
+			list.add(view.copy());
+		assert list.equals(list(permutations(iter("ABC")))) : list;
+	}
+
 }
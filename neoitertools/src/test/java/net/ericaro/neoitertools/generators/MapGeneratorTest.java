@@ -3,11 +3,14 @@ package net.ericaro.neoitertools.generators;
 import static net.ericaro.neoitertools.Itertools.list;
 import static net.ericaro.neoitertools.Itertools.map;
 import static net.ericaro.neoitertools.Itertools.range;
+import static net.ericaro.neoitertools.Itertools.skip;
 
 import java.util.Arrays;
 import java.util.List;
 
+import net.ericaro.neoitertools.Generator;
 import net.ericaro.neoitertools.Lambda;
+import net.ericaro.neoitertools.Skippable;
 
 import org.junit.Test;
 
@@ -23,4 +26,19 @@ public class MapGeneratorTest {
 		assert xlist.equals(list);
 	}
 
+	@Test
+	public void testSkip() {
+		final int[] calls = new int[1];
+		Generator<Integer> g = map(new Lambda<Integer, Integer>() {
+			public Integer map(Integer arg) {
+				calls[0]++;
+				return arg * arg;
+			}
+		}, range(5));
+		assert !(g instanceof Skippable);
+		skip(g, 3);
+		assert g.next() == 9;
+		assert calls[0] == 4 : "skipped items are mapped, the lambda may have side effects";
+	}
+
 }
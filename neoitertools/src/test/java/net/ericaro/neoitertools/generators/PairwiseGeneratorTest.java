@@ -0,0 +1,23 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.ericaro.neoitertools.Pair;
+
+import org.junit.Test;
+
+public class PairwiseGeneratorTest {
+
+	@Test
+	public void testPairwiseGenerator() {
+		@SuppressWarnings("unchecked")
+		List<Pair<Integer, Integer>> xlist = Arrays.asList(new Pair<Integer, Integer>(0, 1), new Pair<Integer, Integer>(1, 2));
+		List<Pair<Integer, Integer>> list = list(new PairwiseGenerator<Integer>(new RangeGenerator(3)));
+		assert xlist.equals(list);
+		assert list(new PairwiseGenerator<Integer>(new RangeGenerator(1))).isEmpty();
+	}
+
+}
@@ -0,0 +1,95 @@
+package net.ericaro.neoitertools.generators;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Lambda;
+
+import org.junit.Test;
+
+public class ParallelMapGeneratorTest {
+
+	Lambda<Integer, Integer> slowSquare = new Lambda<Integer, Integer>() {
+		public Integer map(Integer arg) {
+			try {
+				Thread.sleep((arg * 7) % 5); // finish out of order
+			} catch (InterruptedException e) {
+			}
+			return arg * arg;
+		}
+	};
+
+	@Test
+	public void testOrder() {
+		Generator<Integer> g = new ParallelMapGenerator<Integer, Integer>(slowSquare, new RangeGenerator(200), 4, 16);
+		for (int i = 0; i < 200; i++)
+			assert g.next() == i * i;
+		try {
+			g.next();
+			assert false : "the generator must be exhausted";
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void testWindow() {
+		final AtomicInteger read = new AtomicInteger();
+		Generator<Integer> source = new Generator<Integer>() {
+			public Integer next() {
+				return read.incrementAndGet();
+			}
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Generator<Integer> g = new ParallelMapGenerator<Integer, Integer>(new Lambda<Integer, Integer>() {
+				public Integer map(Integer arg) {
+					return arg;
+				}
+			}, source, executor, 8);
+			for (int i = 1; i <= 100; i++)
+				assert g.next() == i;
+			// an infinite source is read at most window items ahead
+			assert read.get() <= 100 + 8 : read.get();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testException() {
+		Generator<Integer> g = new ParallelMapGenerator<Integer, Integer>(new Lambda<Integer, Integer>() {
+			public Integer map(Integer arg) {
+				if (arg == 2)
+					throw new IllegalStateException("2");
+				return arg;
+			}
+		}, new RangeGenerator(4), 2, 4);
+		assert g.next() == 0;
+		assert g.next() == 1;
+		try {
+			g.next();
+			assert false : "the exception must be thrown at its position";
+		} catch (IllegalStateException e) {
+		}
+		assert g.next() == 3;
+	}
+
+	@Test(timeout = 5000)
+	public void testRejected() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		executor.shutdown();
+		Generator<Integer> g = new ParallelMapGenerator<Integer, Integer>(slowSquare, new RangeGenerator(10), executor, 4);
+		for (int i = 0; i < 2; i++)
+			try {
+				g.next();
+				assert false : "the executor must reject the task";
+			} catch (RejectedExecutionException e) {
+				// and the rejected task is not waited for
+			}
+	}
+
+}
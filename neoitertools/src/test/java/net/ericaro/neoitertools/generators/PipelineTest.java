@@ -0,0 +1,66 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.enumerate;
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.util.List;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Index;
+import net.ericaro.neoitertools.Itertools;
+import net.ericaro.neoitertools.Lambda;
+
+import org.junit.Test;
+
+public class PipelineTest {
+
+	Lambda<Generator<Integer>, Generator<Integer>> square = new Lambda<Generator<Integer>, Generator<Integer>>() {
+		public Generator<Integer> map(Generator<Integer> input) {
+			return Itertools.map(new Lambda<Integer, Integer>() {
+				public Integer map(Integer arg) {
+					return arg * arg;
+				}
+			}, input);
+		}
+	};
+
+	Lambda<Generator<Integer>, Generator<Integer>> negate = new Lambda<Generator<Integer>, Generator<Integer>>() {
+		public Generator<Integer> map(Generator<Integer> input) {
+			return Itertools.map(new Lambda<Integer, Integer>() {
+				public Integer map(Integer arg) {
+					return -arg;
+				}
+			}, input);
+		}
+	};
+
+	Lambda<Generator<Integer>, Generator<Index<Integer>>> enumerate = new Lambda<Generator<Integer>, Generator<Index<Integer>>>() {
+		public Generator<Index<Integer>> map(Generator<Integer> input) {
+			return enumerate(input);
+		}
+	};
+
+	@Test
+	public void testPipeline() {
+		Pipeline<Index<Integer>> pipeline = new Pipeline<Integer>(new RangeGenerator(10000), 16, 4).stage("square", square).then(negate)
+				.stage("enumerate", enumerate);
+		List<Index<Integer>> list = list(pipeline);
+		assert list.size() == 10000;
+		for (Index<Integer> index : list)
+			assert index.value == -index.i * index.i : index;
+		List<Pipeline.Stage> stages = pipeline.stages();
+		assert stages.size() == 2;
+		assert stages.get(0).items() == 10000;
+		assert stages.get(1).items() == 10000;
+		for (Pipeline.Stage stage : stages) {
+			System.out.println(stage);
+			assert stage.utilization() >= 0d && stage.utilization() <= 1d;
+		}
+	}
+
+	@Test
+	public void testNoStage() {
+		assert list(new Pipeline<Integer>(new RangeGenerator(3), 16, 4).then(square)).size() == 3;
+	}
+
+}
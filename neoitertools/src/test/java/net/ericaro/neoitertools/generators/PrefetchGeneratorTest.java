@@ -0,0 +1,100 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+
+import net.ericaro.neoitertools.Generator;
+
+import org.junit.Test;
+
+public class PrefetchGeneratorTest {
+
+	@Test
+	public void testPrefetchGenerator() {
+		// a small buffer, so that both threads block many times
+		List<Integer> list = list(new PrefetchGenerator<Integer>(new RangeGenerator(100000), 4));
+		assert list.size() == 100000;
+		int i = 0;
+		for (int x : list)
+			assert x == i++;
+	}
+
+	@Test
+	public void testException() {
+		Generator<Integer> source = new Generator<Integer>() {
+			int i = 0;
+
+			public Integer next() {
+				if (i == 3)
+					throw new IllegalStateException("3");
+				return i++;
+			}
+		};
+		Generator<Integer> g = new PrefetchGenerator<Integer>(source, 16);
+		assert g.next() == 0;
+		assert g.next() == 1;
+		assert g.next() == 2;
+		try {
+			g.next();
+			assert false : "the source exception must be thrown";
+		} catch (IllegalStateException e) {
+		}
+		try {
+			g.next();
+			assert false : "the generator must be exhausted";
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void testCancel() throws InterruptedException {
+		// an infinite source
+		PrefetchGenerator<Integer> g = new PrefetchGenerator<Integer>(new RepeatGenerator<Integer>(1), 8);
+		assert g.next() == 1;
+		g.cancel();
+		// what was read ahead is still there, then it stops
+		assert list(g).size() <= 8;
+	}
+
+	@Test(timeout = 5000)
+	public void testCancelBlocked() throws InterruptedException {
+		// a source that blocks after one item
+		final CountDownLatch never = new CountDownLatch(1);
+		Generator<Integer> source = new Generator<Integer>() {
+			boolean first = true;
+
+			public Integer next() {
+				if (first) {
+					first = false;
+					return 0;
+				}
+				try {
+					never.await();
+				} catch (InterruptedException e) {
+					throw new NoSuchElementException();
+				}
+				return 1;
+			}
+		};
+		final PrefetchGenerator<Integer> g = new PrefetchGenerator<Integer>(source, 8);
+		assert g.next() == 0;
+		new Thread() {
+			public void run() {
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+				}
+				g.cancel();
+			}
+		}.start();
+		try {
+			g.next(); // blocked until cancelled
+			assert false : "cancelled generator must stop";
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.iter;
+import static net.ericaro.neoitertools.Itertools.list;
+import static net.ericaro.neoitertools.Itertools.range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+import org.junit.Test;
+
+public class ProductGeneratorTest {
+
+	@Test
+	public void testProductGenerator() {
+		List<Generator<Integer>> tail = new ArrayList<Generator<Integer>>();
+		tail.add(iter(Arrays.asList(0, 1))); // stored
+		tail.add(range(5, 6)); // rewound
+		List<List<Integer>> product = list(new ProductGenerator<Integer>(range(2), tail));
+		assert product.equals(Arrays.asList(Arrays.asList(0, 0, 5), Arrays.asList(0, 1, 5), Arrays.asList(1, 0, 5), Arrays.asList(1, 1, 5))) : product;
+	}
+
+	@Test
+	public void testNoTail() {
+		List<Generator<Integer>> tail = Collections.emptyList();
+		List<List<Integer>> product = list(new ProductGenerator<Integer>(range(3), tail));
+		assert product.equals(Arrays.asList(Arrays.asList(0), Arrays.asList(1), Arrays.asList(2))) : product;
+	}
+
+	@Test
+	public void testEmptyTail() {
+		List<Generator<Integer>> tail = new ArrayList<Generator<Integer>>();
+		tail.add(range(0));
+		assert list(new ProductGenerator<Integer>(range(3), tail)).isEmpty();
+	}
+
+	@Test
+	public void testExhausted() {
+		List<Generator<Integer>> tail = new ArrayList<Generator<Integer>>();
+		tail.add(range(2));
+		ProductGenerator<Integer> g = new ProductGenerator<Integer>(range(2), tail);
+		assert list(g).size() == 4;
+		for (int i = 0; i < 2; i++)
+			try {
+				g.next();
+				assert false : "exhausted product must stay exhausted";
+			} catch (NoSuchElementException e) {
+			}
+	}
+
+}
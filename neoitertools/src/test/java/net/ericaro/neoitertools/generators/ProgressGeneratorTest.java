@@ -0,0 +1,57 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.range;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+public class ProgressGeneratorTest {
+
+	@Test
+	public void testProgress() {
+		ProgressGenerator<Integer> g = new ProgressGenerator<Integer>(range(10), BigInteger.TEN);
+		assert g.emitted() == 0;
+		assert g.eta() == -1;
+		for (int i = 0; i < 5; i++)
+			g.next();
+		assert g.emitted() == 5;
+		assert g.progress() == 0.5d;
+		assert g.eta() >= 0;
+	}
+
+	@Test
+	public void testCancel() {
+		ProgressGenerator<Integer> g = new ProgressGenerator<Integer>(range(10), BigInteger.TEN);
+		g.next();
+		g.cancel();
+		assert g.isCancelled();
+		try {
+			g.next();
+			assert false : "cancelled generator must stop";
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void testSkip() throws InterruptedException {
+		ProgressGenerator<Integer> g = new ProgressGenerator<Integer>(range(1000000), BigInteger.valueOf(1000000));
+		g.next();
+		g.skip(3);
+		assert g.emitted() == 1;
+		assert g.skipped() == 3;
+		assert g.next() == 4;
+		Thread.sleep(10);
+		double rate = g.rate();
+		g.skip(500000);
+		assert g.progress() > 0.5;
+		// the skip was not produced work: the rate and the remaining time do not jump
+		assert g.rate() <= rate : g.rate() + " > " + rate;
+		assert g.eta() > 0;
+		g.skip(10000000);
+		assert g.emitted() + g.skipped() == 1000000;
+		assert g.progress() == 1d;
+	}
+
+}
@@ -0,0 +1,37 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.list;
+import static net.ericaro.neoitertools.Itertools.map;
+import static net.ericaro.neoitertools.Itertools.range;
+import static net.ericaro.neoitertools.Itertools.slice;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Lambda;
+import net.ericaro.neoitertools.Pure;
+
+import org.junit.Test;
+
+public class PureMapGeneratorTest {
+
+	static abstract class PureLambda implements Lambda<Integer, Integer>, Pure {
+	}
+
+	@Test
+	public void testSkip() {
+		final int[] calls = new int[1];
+		Generator<Integer> g = map(new PureLambda() {
+			public Integer map(Integer arg) {
+				calls[0]++;
+				return arg * arg;
+			}
+		}, range(100));
+		assert g instanceof PureMapGenerator;
+		List<Integer> list = list(slice(g, 50, 60, 5));
+		assert list.equals(Arrays.asList(2500, 3025)) : list;
+		assert calls[0] == 2 : "skipped items must not be mapped";
+	}
+
+}
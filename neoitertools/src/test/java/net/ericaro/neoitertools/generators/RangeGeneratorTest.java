@@ -68,4 +68,16 @@ public class RangeGeneratorTest {
 		assert xlist.equals(list) : "range(0,-10,-1) failed";
 	}
 
+	@Test
+	public void testSkip() {
+		RangeGenerator g = new RangeGenerator(0, 30, 5);
+		g.skip(2);
+		assert g.next() == 10;
+		g = new RangeGenerator(0, -10, -3);
+		g.skip(3);
+		assert g.next() == -9;
+		g.skip(Long.MAX_VALUE);
+		assert list(g).isEmpty();
+	}
+
 }
@@ -51,8 +51,11 @@ public class SliceGeneratorTest {
 		List<Character> list = list( new SliceGenerator<Character>(iter("ABCDEFG"), 0, Integer.MAX_VALUE, 2));
 		assert xlist.equals(list);
 	}
-	
-	
-	
-	
+
+	@Test public void testSkippable(){
+		// half a billion items are skipped, not read
+		List<Integer> list = list( new SliceGenerator<Integer>(new RangeGenerator(0, 1000000000), 500000000, 500000010, 3));
+		assert Arrays.asList(500000000, 500000003, 500000006, 500000009).equals(list) : list;
+	}
+
 }
@@ -0,0 +1,89 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.iter;
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import net.ericaro.neoitertools.Generator;
+
+import org.junit.Test;
+
+public class SortedGeneratorTest {
+
+	Comparator<Integer> natural = new Comparator<Integer>() {
+		public int compare(Integer o1, Integer o2) {
+			return o1.compareTo(o2);
+		}
+	};
+
+	@Test
+	public void testSortedGenerator() {
+		Random random = new Random(42);
+		for (int n : new int[] { 0, 1, 2, 15, 16, 17, 100, 1000 }) {
+			List<Integer> xlist = new ArrayList<Integer>();
+			for (int i = 0; i < n; i++)
+				xlist.add(random.nextInt(n / 2 + 1));
+			List<Integer> list = list(new SortedGenerator<Integer>(iter(xlist), natural));
+			Collections.sort(xlist);
+			assert xlist.equals(list) : "sorting " + n + " items failed";
+		}
+	}
+
+	@Test
+	public void testStable() {
+		// sort by the first char only, the second one tells the source order
+		Comparator<String> first = new Comparator<String>() {
+			public int compare(String o1, String o2) {
+				return o1.charAt(0) - o2.charAt(0);
+			}
+		};
+		List<String> xlist = new ArrayList<String>();
+		for (int i = 0; i < 100; i++)
+			xlist.add("" + (char) ('a' + (i * 7) % 5) + (char) ('0' + i % 10) + i);
+		List<String> list = list(new SortedGenerator<String>(iter(xlist), first));
+		Collections.sort(xlist, first); // Collections.sort is stable
+		assert xlist.equals(list);
+	}
+
+	@Test
+	public void testReversed() {
+		Comparator<String> first = new Comparator<String>() {
+			public int compare(String o1, String o2) {
+				return o1.charAt(0) - o2.charAt(0);
+			}
+		};
+		List<String> xlist = new ArrayList<String>();
+		for (int i = 0; i < 100; i++)
+			xlist.add("" + (char) ('a' + (i * 7) % 5) + i);
+		List<String> list = list(new SortedGenerator<String>(iter(xlist), first).reversed());
+		Collections.sort(xlist, first);
+		Collections.reverse(xlist);
+		assert xlist.equals(list);
+	}
+
+	@Test
+	public void testPrefix() {
+		// a descending source of 100000 items, only the first 3 items are read
+		List<Integer> source = new ArrayList<Integer>();
+		for (int i = 100000; i > 0; i--)
+			source.add(i);
+		final int[] comparisons = new int[1];
+		Generator<Integer> g = new SortedGenerator<Integer>(iter(source), new Comparator<Integer>() {
+			public int compare(Integer o1, Integer o2) {
+				comparisons[0]++;
+				return o1.compareTo(o2);
+			}
+		});
+		assert g.next() == 1;
+		assert g.next() == 2;
+		assert g.next() == 3;
+		// a full sort would cost about n log n = 1.7 million comparisons
+		assert comparisons[0] < 1000000 : comparisons[0] + " comparisons";
+	}
+
+}
@@ -0,0 +1,57 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.iter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
+
+import org.junit.Test;
+
+public class WindowGeneratorTest {
+
+	private static <T> List<List<T>> copies(Generator<List<T>> g) {
+		List<List<T>> list = new ArrayList<List<T>>();
+		try {
+			while (true)
+				list.add(new ArrayList<T>(g.next()));
+		} catch (NoSuchElementException e) {
+		}
+		return list;
+	}
+
+	@Test
+	public void testWindowGenerator() {
+		List<List<Integer>> list = copies(new WindowGenerator<Integer>(new RangeGenerator(5), 3, 1));
+		assert Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(1, 2, 3), Arrays.asList(2, 3, 4)).equals(list) : list;
+	}
+
+	@Test
+	public void testStep() {
+		List<List<Character>> list = copies(new WindowGenerator<Character>(iter("ABCDEFG"), 3, 2));
+		assert Arrays.asList(Arrays.asList('A', 'B', 'C'), Arrays.asList('C', 'D', 'E'), Arrays.asList('E', 'F', 'G')).equals(list) : list;
+		list = copies(new WindowGenerator<Character>(iter("ABCDEFG"), 2, 3));
+		assert Arrays.asList(Arrays.asList('A', 'B'), Arrays.asList('D', 'E')).equals(list) : list;
+	}
+
+	@Test
+	public void testShort() {
+		assert copies(new WindowGenerator<Integer>(new RangeGenerator(2), 3, 1)).isEmpty();
+	}
+
+	@Test
+	public void testReused() {
+		Generator<List<Integer>> g = new WindowGenerator<Integer>(new RangeGenerator(5), 2, 1);
+		List<Integer> window = g.next();
+		assert g.next() == window;
+		try {
+			window.set(0, 1);
+			assert false : "the window must be read-only";
+		} catch (UnsupportedOperationException e) {
+		}
+	}
+
+}
@@ -5,6 +5,9 @@ import static net.ericaro.neoitertools.Itertools.list;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Generator;
 
 import org.junit.Test;
 
@@ -23,4 +26,18 @@ public class ZipGeneratorTest {
 		
 	}
 
+	@Test
+	public void testReuse() {
+		Generator<List<Integer>> zip = new ZipGenerator<Integer>(Arrays.asList(iter(Arrays.asList(1, 2)), iter(Arrays.asList(3, 4, 5))), true);
+		List<Integer> row = zip.next();
+		assert row.equals(Arrays.asList(1, 3));
+		assert zip.next() == row : "the row must be reused";
+		assert row.equals(Arrays.asList(2, 4));
+		try {
+			zip.next();
+			assert false : "zip must stop with the shortest generator";
+		} catch (NoSuchElementException e) {
+		}
+	}
+
 }
@@ -0,0 +1,28 @@
+package net.ericaro.neoitertools.generators;
+
+import static net.ericaro.neoitertools.Itertools.iter;
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ZipLongestGeneratorTest {
+
+	@Test
+	public void testZipLongestGenerator() {
+		List<Integer> x = Arrays.asList(1, 2, 3);
+		List<Integer> y = Arrays.asList(4);
+		List<List<Integer>> xlist = Arrays.asList(Arrays.asList(1, 4), Arrays.asList(2, 0), Arrays.asList(3, 0));
+		List<List<Integer>> list = list(new ZipLongestGenerator<Integer>(Arrays.asList(iter(x), iter(y)), 0));
+		assert xlist.equals(list) : list;
+	}
+
+	@Test
+	public void testEmpty() {
+		List<Integer> x = Arrays.asList();
+		assert list(new ZipLongestGenerator<Integer>(Arrays.asList(iter(x), iter(x)), 0)).isEmpty();
+	}
+
+}
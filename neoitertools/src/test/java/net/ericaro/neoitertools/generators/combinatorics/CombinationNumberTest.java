@@ -26,4 +26,22 @@ public class CombinationNumberTest {
 		assert xlist.equals(list);
 	}
 
+	@Test
+	public void testUnrank() {
+		CombinatoricsTest.assertRanks(new CombinationNumber(6, 3), new CombinationNumber(6, 3));
+		CombinatoricsTest.assertRanks(new CombinationNumber(4, 3, true), new CombinationNumber(4, 3, true));
+		CombinatoricsTest.assertRanks(new CombinationNumber(0, 2, true), new CombinationNumber(0, 2, true));
+	}
+
+	@Test
+	public void testReplacement() {
+		// combinations_with_replacement(range(3), 2) --> 00 01 02 11 12 22
+		List<int[]> xlist = Arrays.asList(new int[] { 0, 0 }, new int[] { 0, 1 }, new int[] { 0, 2 }, new int[] { 1, 1 }, new int[] { 1, 2 }, new int[] { 2, 2 });
+		CombinationNumber fn = new CombinationNumber(3, 2, true);
+		for (int[] x : xlist)
+			assert Arrays.equals(x, fn.next());
+		assert fn.rank().intValue() == xlist.size();
+		assert fn.count().intValue() == xlist.size();
+	}
+
 }
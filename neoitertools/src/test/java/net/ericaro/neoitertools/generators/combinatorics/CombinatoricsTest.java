@@ -1,14 +1,115 @@
 package net.ericaro.neoitertools.generators.combinatorics;
 
+import static net.ericaro.neoitertools.Itertools.combinations;
+import static net.ericaro.neoitertools.Itertools.cycle;
+import static net.ericaro.neoitertools.Itertools.iter;
+import static net.ericaro.neoitertools.Itertools.list;
+import static net.ericaro.neoitertools.Itertools.permutations;
+import static net.ericaro.neoitertools.Itertools.permutationsView;
+import static net.ericaro.neoitertools.Itertools.skip;
+import static net.ericaro.neoitertools.Itertools.slice;
+import static net.ericaro.neoitertools.Itertools.tee;
 import static org.junit.Assert.fail;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.Copyable;
+import net.ericaro.neoitertools.Generator;
+import net.ericaro.neoitertools.Rewindable;
 
 import org.junit.Test;
 
 public class CombinatoricsTest {
 
+	/** enumerates <code>all</code>, and check that <code>ranked</code> can be moved directly to each value.
+	 * 
+	 * @param all
+	 * @param ranked
+	 *            a fresh generator, equal to all
+	 */
+	public static void assertRanks(Rankable all, Rankable ranked) {
+		List<int[]> values = new ArrayList<int[]>();
+		try {
+			while (true) {
+				assert all.rank().intValue() == values.size();
+				values.add(all.next().clone());
+			}
+		} catch (NoSuchElementException e) {
+		}
+		assert all.rank().intValue() == values.size();
+		assert all.count().intValue() == values.size() : all.count() + " != " + values.size();
+
+		for (int r = values.size() - 1; r >= 0; r--) {
+			ranked.unrank(r);
+			assert ranked.rank().intValue() == r;
+			assert Arrays.equals(values.get(r), ranked.next()) : "unrank " + r + " failed";
+			assert ranked.rank().intValue() == r + 1;
+		}
+		for (int r = 0; r < values.size(); r++)
+			for (int n = 0; r + n < values.size(); n++) {
+				ranked.unrank(r);
+				ranked.skip(n);
+				assert Arrays.equals(values.get(r + n), ranked.next()) : "skip " + r + "+" + n + " failed";
+			}
+		ranked.unrank(values.size());
+		try {
+			ranked.next();
+			assert false : "should be exhausted";
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void testCounts() {
+		assert Combinatorics.factorial(0).equals(BigInteger.ONE);
+		assert Combinatorics.factorial(5).intValue() == 120;
+		assert Combinatorics.factorial(25).equals(new BigInteger("15511210043330985984000000"));
+		assert Combinatorics.binomial(5, 2).intValue() == 10;
+		assert Combinatorics.binomial(5, 6).signum() == 0;
+		assert Combinatorics.binomial(200, 100).equals(Combinatorics.binomial(199, 99).add(Combinatorics.binomial(199, 100)));
+		assert Combinatorics.countSublists(5, 2).intValue() == 20;
+		assert Combinatorics.countProduct(new int[] { 3, 4, 0 }).signum() == 0;
+	}
+
+	@Test
+	public void testCountsExact() {
+		assert Combinatorics.countPermutationsExact(20) == Combinatorics.countPermutations(20).longValue();
+		assert Combinatorics.countCombinationsExact(60, 30) == Combinatorics.binomial(60, 30).longValue();
+		assert Combinatorics.countCombinationsWithReplacementExact(5, 3) == 35;
+		assert Combinatorics.countSublistsExact(5, 2) == 20;
+		assert Combinatorics.countProductExact(new int[] { 3, 4, 5 }) == 60;
+		try {
+			Combinatorics.countPermutationsExact(21);
+			assert false : "21! does not fit in a long";
+		} catch (ArithmeticException e) {
+		}
+	}
+
+	@Test
+	public void testRewind() {
+		Rankable combinations = Combinatorics.combinations(5, 2);
+		combinations.next();
+		combinations.mark();
+		int[] second = combinations.next().clone();
+		combinations.next();
+		combinations.rewind();
+		assert Arrays.equals(second, combinations.next());
+	}
+
+	@Test
+	public void testUnrankBillionth() {
+		// no need to generate them all
+		Rankable permutations = Combinatorics.permutations(13);
+		permutations.unrank(1000000000L);
+		assert Arrays.equals(new int[] { 2, 1, 0, 8, 10, 7, 9, 12, 4, 6, 11, 3, 5 }, permutations.next()) : permutations.toString();
+		assert permutations.rank().longValue() == 1000000001L;
+	}
+
 	@Test
 	public void testApply() {
 		
@@ -32,4 +133,66 @@ public class CombinatoricsTest {
 		assert Arrays.asList('c','4', ',','a','2', '-').equals(Combinatorics.select(src, new int[]{2,3, 2, 0, 1, 1}));
 		
 	}
+
+	@Test
+	public void testSkipApplied() {
+		// the 20! - 1 skipped permutations are unranked over, not built
+		List<Character> src = Arrays.asList('a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm', 'n', 'o', 'p', 'q', 'r', 's', 't');
+		List<Character> reversed = new ArrayList<Character>(src);
+		Collections.reverse(reversed);
+		long last = Combinatorics.countPermutations(20).longValue() - 1;
+		Generator<List<Character>> permutations = Combinatorics.applied(src, Combinatorics.permutations(20));
+		skip(permutations, last);
+		assert permutations.next().equals(reversed);
+		Generator<TupleView<Character>> views = Combinatorics.appliedView(src, Combinatorics.permutations(20));
+		skip(views, last);
+		assert views.next().equals(reversed);
+		// slice uses the same skip
+		Rankable indices = Combinatorics.permutations(20);
+		indices.unrank(1000000);
+		assert list(slice(Combinatorics.applied(src, Combinatorics.permutations(20)), 1000000, 1000001)).equals(Arrays.asList(Combinatorics.apply(src, indices.next())));
+	}
+
+	@Test
+	public void testCopy() {
+		Rankable[] rankables = { new PermutationNumber(5), new CombinationNumber(7, 3), new CombinationNumber(4, 3, true), new FactorialNumber(4),
+				new FixedSumNumber(7, 3), new VarBaseNumber(2, 3, 4), new SubListNumber(5, 3) };
+		for (Rankable r : rankables) {
+			r.skip(5);
+			Rankable copy = r.copy();
+			assert copy.rank().equals(r.rank());
+			List<int[]> expected = new ArrayList<int[]>();
+			try {
+				while (true)
+					expected.add(r.next().clone());
+			} catch (NoSuchElementException e) {
+			}
+			for (int[] value : expected)
+				assert Arrays.equals(value, copy.next()) : r.getClass().getSimpleName();
+		}
+	}
+
+	@Test
+	public void testCycleNotBuffered() {
+		// a buffered cycle would save the same reused view over and over
+		Generator<TupleView<Character>> views = permutationsView(iter("ABC"));
+		assert views instanceof Rewindable;
+		Generator<TupleView<Character>> cycle = cycle(views);
+		List<List<Character>> list = new ArrayList<List<Character>>();
+		for (int i = 0; i < 12; i++)
+			list.add(cycle.next().copy());
+		List<List<Character>> expected = list(permutations(iter("ABC")));
+		expected.addAll(list(permutations(iter("ABC"))));
+		assert list.equals(expected) : list;
+	}
+
+	@Test
+	public void testTeeNotBuffered() {
+		assert combinations(iter("ABCD"), 2) instanceof Copyable;
+		List<Generator<List<Character>>> tees = tee(permutations(iter("ABCDEFGHIJKLMNOPQRST")), 2);
+		// a buffered tee would have to save 20! permutations for the other one
+		skip(tees.get(0), Combinatorics.countPermutations(20).longValue() - 1);
+		assert tees.get(0).next().equals(Arrays.asList('T', 'S', 'R', 'Q', 'P', 'O', 'N', 'M', 'L', 'K', 'J', 'I', 'H', 'G', 'F', 'E', 'D', 'C', 'B', 'A'));
+		assert tees.get(1).next().equals(Arrays.asList('A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M', 'N', 'O', 'P', 'Q', 'R', 'S', 'T'));
+	}
 }
@@ -42,4 +42,9 @@ List<int[]> xlist = Arrays.asList(
 		} catch (NoSuchElementException e) {	}
 	}
 
+	@Test
+	public void testUnrank() {
+		CombinatoricsTest.assertRanks(new FactorialNumber(4), new FactorialNumber(4));
+	}
+
 }
@@ -45,4 +45,9 @@ public class FixedSumNumberTest {
 				assert i == xlist.size();
 			}
 
+	@Test
+	public void testUnrank() {
+		CombinatoricsTest.assertRanks(new FixedSumNumber(6, 3), new FixedSumNumber(6, 3));
+	}
+
 }
@@ -0,0 +1,36 @@
+package net.ericaro.neoitertools.generators.combinatorics;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class HeapPermutationNumberTest {
+
+	@Test
+	public void testHeapPermutationNumber() {
+		for (int n = 0; n < 7; n++) {
+			Set<List<Integer>> all = new HashSet<List<Integer>>();
+			HeapPermutationNumber fn = new HeapPermutationNumber(n);
+			int i = 0;
+			try {
+				while (true) {
+					int[] next = fn.next();
+					Integer[] boxed = new Integer[n];
+					for (int j = 0; j < n; j++)
+						boxed[j] = next[j];
+					all.add(Arrays.asList(boxed));
+					i++;
+				}
+			} catch (NoSuchElementException e) {
+			}
+			int factorial = Combinatorics.factorial(n).intValue();
+			assert i == factorial : n + "! != " + i;
+			assert all.size() == factorial : "permutations are not distinct";
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package net.ericaro.neoitertools.generators.combinatorics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.ericaro.neoitertools.Lambda;
+import net.ericaro.neoitertools.Operator;
+
+import org.junit.Test;
+
+public class ParallelEnumerationTest {
+
+	@Test
+	public void testForEach() {
+		final AtomicLong n = new AtomicLong();
+		ParallelEnumeration permutations = ParallelEnumeration.permutations(8);
+		permutations.forEach(new Lambda<int[], Void>() {
+			public Void map(int[] arg) {
+				n.incrementAndGet();
+				return null;
+			}
+		});
+		assert n.get() == 40320 : n.get();
+		assert permutations.count().longValue() == 40320;
+	}
+
+	@Test
+	public void testReduce() {
+		// sum of all the indices of all combinations(20, 5): every index appears C(19, 4) times
+		Long sum = ParallelEnumeration.combinations(20, 5).reduce(new Lambda<int[], Long>() {
+			public Long map(int[] arg) {
+				long s = 0;
+				for (int i : arg)
+					s += i;
+				return s;
+			}
+		}, new Operator<Long>() {
+			public Long operate(Long t1, Long t2) {
+				return t1 + t2;
+			}
+		});
+		assert sum == 190L * 3876 : sum;
+	}
+
+	@Test
+	public void testFind() {
+		// the first product(10, 10, 10, 10, 10) whose digits sum to 40
+		int[] found = ParallelEnumeration.product(10, 10, 10, 10, 10).find(new Lambda<int[], Boolean>() {
+			public Boolean map(int[] arg) {
+				return arg[0] + arg[1] + arg[2] + arg[3] + arg[4] == 40;
+			}
+		});
+		assert Arrays.equals(new int[] { 4, 9, 9, 9, 9 }, found) : Arrays.toString(found);
+
+		assert null == ParallelEnumeration.sublists(6, 3).find(new Lambda<int[], Boolean>() {
+			public Boolean map(int[] arg) {
+				return arg[0] == 6;
+			}
+		});
+	}
+
+	@Test
+	public void testFindHuge() {
+		// 33! / (threads * chunks) does not fit in a long: leaves must be capped
+		Lambda<int[], Boolean> any = new Lambda<int[], Boolean>() {
+			public Boolean map(int[] arg) {
+				return true;
+			}
+		};
+		for (int n : new int[] { 22, 27, 33 }) {
+			int[] found = ParallelEnumeration.permutations(n).find(any);
+			assert found != null : n;
+			for (int i = 0; i < n; i++)
+				assert found[i] == i : Arrays.toString(found);
+		}
+	}
+
+}
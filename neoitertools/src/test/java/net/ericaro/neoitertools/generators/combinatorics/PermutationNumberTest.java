@@ -41,4 +41,9 @@ public class PermutationNumberTest {
 				assert i == xlist.size();
 			}
 
+	@Test
+	public void testUnrank() {
+		CombinatoricsTest.assertRanks(new PermutationNumber(4), new PermutationNumber(4));
+	}
+
 }
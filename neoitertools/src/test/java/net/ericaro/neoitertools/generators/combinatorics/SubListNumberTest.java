@@ -44,4 +44,9 @@ public class SubListNumberTest {
 		
 	}
 
+	@Test
+	public void testUnrank() {
+		CombinatoricsTest.assertRanks(new SubListNumber(5, 3), new SubListNumber(5, 3));
+	}
+
 }
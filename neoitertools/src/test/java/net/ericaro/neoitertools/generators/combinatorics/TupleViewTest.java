@@ -0,0 +1,53 @@
+package net.ericaro.neoitertools.generators.combinatorics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.ericaro.neoitertools.Generator;
+
+import org.junit.Test;
+
+public class TupleViewTest {
+
+	@Test
+	public void testAppliedView() {
+		List<Character> src = Arrays.asList('a', 'b', 'c');
+		Generator<TupleView<Character>> views = Combinatorics.appliedView(src, Combinatorics.combinations(3, 2));
+		TupleView<Character> first = views.next();
+		assert Arrays.asList('a', 'b').equals(first);
+		List<Character> copy = first.copy();
+		TupleView<Character> second = views.next();
+		assert first == second : "the view should be reused";
+		assert Arrays.asList('a', 'c').equals(second);
+		assert Arrays.asList('a', 'b').equals(copy);
+	}
+
+	@Test
+	public void testSelectedView() {
+		List<List<Character>> src = Arrays.asList(Arrays.asList('a', 'b'), Arrays.asList('1', '2', '3'));
+		Generator<TupleView<Character>> views = Combinatorics.selectedView(src, Combinatorics.product(new int[] { 2, 3, 2, 3 }));
+		views.next();
+		views.next();
+		assert Arrays.asList('a', '1', 'a', '3').equals(views.next());
+	}
+
+	@Test
+	public void testVisit() {
+		final List<String> visited = new ArrayList<String>();
+		long n = Combinatorics.visit(Combinatorics.permutations(3), "abc", new TupleVisitor<String>() {
+			public boolean visit(int[] indices, String source) {
+				visited.add("" + source.charAt(indices[0]) + source.charAt(indices[1]) + source.charAt(indices[2]));
+				return visited.size() < 4;
+			}
+		});
+		assert n == 4;
+		assert Arrays.asList("abc", "acb", "bac", "bca").equals(visited);
+		assert Combinatorics.visit(Combinatorics.combinations(4, 2), null, new TupleVisitor<Object>() {
+			public boolean visit(int[] indices, Object source) {
+				return true;
+			}
+		}) == 6;
+	}
+
+}
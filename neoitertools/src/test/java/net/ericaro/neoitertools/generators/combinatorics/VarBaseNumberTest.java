@@ -42,4 +42,9 @@ public class VarBaseNumberTest {
 				assert i == xlist.size();
 	}
 
+	@Test
+	public void testUnrank() {
+		CombinatoricsTest.assertRanks(new VarBaseNumber(3, 1, 2), new VarBaseNumber(3, 1, 2));
+	}
+
 }
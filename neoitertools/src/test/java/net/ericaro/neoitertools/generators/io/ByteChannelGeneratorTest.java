@@ -0,0 +1,61 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ByteChannelGeneratorTest {
+
+	static byte[] bytes(int n) {
+		byte[] bytes = new byte[n];
+		new Random(42).nextBytes(bytes);
+		return bytes;
+	}
+
+	@Test
+	public void testNext() {
+		byte[] bytes = bytes(1000);
+		ByteChannelGenerator g = new ByteChannelGenerator(Channels.newChannel(new ByteArrayInputStream(bytes)), 7);
+		for (int i = 0; i < bytes.length; i++)
+			assert g.nextByte() == bytes[i];
+		try {
+			g.next();
+			assert false;
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void testDrain() {
+		byte[] bytes = bytes(10000);
+		for (int size : new int[] { 1, 10, 100, 5000 }) {
+			ByteChannelGenerator g = new ByteChannelGenerator(Channels.newChannel(new ByteArrayInputStream(bytes)), 64);
+			byte[] read = new byte[bytes.length];
+			int n = 0;
+			g.nextByte(); // mixed with single reads
+			read[n++] = bytes[0];
+			int k;
+			while ((k = g.drain(read, n, Math.min(size, read.length - n))) > 0)
+				n += k;
+			assert n == bytes.length;
+			assert Arrays.equals(read, bytes) : size;
+			assert g.drain(read, 0, 10) == 0;
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		ByteChannelGenerator g = new ByteChannelGenerator(new ByteArrayInputStream(new byte[0]));
+		assert g.drain(new byte[10], 0, 10) == 0;
+		try {
+			g.nextByte();
+			assert false;
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CharChannelGeneratorTest {
+
+	static String text(int n) {
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		String[] chars = { "a", "b", "c", "d", "é", "€", "\n", "😀" }; // the last one is a surrogate pair
+		for (int i = 0; i < n; i++)
+			sb.append(chars[random.nextInt(chars.length)]);
+		return sb.toString();
+	}
+
+	static CharChannelGenerator generator(String text, String charset, int buffer) {
+		byte[] bytes = text.getBytes(Charset.forName(charset));
+		return new CharChannelGenerator(Channels.newChannel(new ByteArrayInputStream(bytes)), Charset.forName(charset), buffer);
+	}
+
+	@Test
+	public void testDecode() {
+		// chars split between two reads of the buffer
+		String text = text(5000);
+		for (String charset : new String[] { "UTF-8", "UTF-16LE", "ISO-8859-15" }) {
+			String expected = new String(text.getBytes(Charset.forName(charset)), Charset.forName(charset));
+			for (int buffer : new int[] { 16, 17, 1000 }) {
+				CharChannelGenerator g = generator(text, charset, buffer);
+				StringBuilder sb = new StringBuilder();
+				try {
+					while (true)
+						sb.append(g.nextChar());
+				} catch (NoSuchElementException e) {
+				}
+				assert sb.toString().equals(expected) : charset + " " + buffer;
+			}
+		}
+	}
+
+	@Test
+	public void testDrain() {
+		String text = text(5000);
+		CharChannelGenerator g = generator(text, "UTF-8", 16);
+		char[] chars = new char[text.length() + 10];
+		int n = 0;
+		int k;
+		while ((k = g.drain(chars, n, Math.min(7, chars.length - n))) > 0)
+			n += k;
+		assert new String(chars, 0, n).equals(text);
+	}
+
+	@Test
+	public void testMalformed() {
+		byte[] bytes = { 'a', (byte) 0xC3, 'b' }; // 0xC3 starts a 2 bytes sequence
+		CharChannelGenerator g = new CharChannelGenerator(new ByteArrayInputStream(bytes), Charset.forName("UTF-8"));
+		assert g.nextChar() == 'a';
+		assert g.nextChar() == '�';
+		assert g.nextChar() == 'b';
+	}
+
+	@Test(timeout = 5000)
+	public void testLivePipe() throws IOException {
+		// the chars already decoded are returned without waiting for more bytes
+		PipedOutputStream out = new PipedOutputStream();
+		CharChannelGenerator g = new CharChannelGenerator(new PipedInputStream(out), Charset.forName("UTF-8"));
+		out.write("ab".getBytes("UTF-8"));
+		out.flush();
+		assert g.nextChar() == 'a';
+		assert g.nextChar() == 'b';
+		out.write('c');
+		out.close();
+		assert g.nextChar() == 'c';
+		try {
+			g.nextChar();
+			assert false;
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+}
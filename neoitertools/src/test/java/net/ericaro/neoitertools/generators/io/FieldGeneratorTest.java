@@ -0,0 +1,127 @@
+package net.ericaro.neoitertools.generators.io;
+
+import static net.ericaro.neoitertools.Itertools.iter;
+import static net.ericaro.neoitertools.Itertools.string;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FieldGeneratorTest {
+
+	static List<String> fields(FieldGenerator fields) {
+		List<String> list = new ArrayList<String>();
+		try {
+			while (true)
+				list.add(fields.next().toString());
+		} catch (NoSuchElementException e) {
+		}
+		return list;
+	}
+
+	@Test
+	public void testSplit() {
+		assert fields(new FieldGenerator("a;bc;;d", ';')).equals(Arrays.asList("a", "bc", "", "d"));
+		assert fields(new FieldGenerator("", ';')).equals(Arrays.asList(""));
+		assert fields(new FieldGenerator(";", ';')).equals(Arrays.asList("", ""));
+		// same as String.split, that drops the trailing empty fields
+		Random random = new Random(42);
+		for (int k = 0; k < 100; k++) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = random.nextInt(30); i > 0; i--)
+				sb.append("ab\t".charAt(random.nextInt(3)));
+			String line = sb.toString() + "x";
+			assert fields(new FieldGenerator(line, '\t')).equals(Arrays.asList(line.split("\t", -1))) : line;
+		}
+	}
+
+	@Test
+	public void testCsv() {
+		List<String> list = fields(FieldGenerator.csv("1,\"a,b\",\"say \"\"hi\"\"\",,\"\""));
+		assert list.equals(Arrays.asList("1", "a,b", "say \"hi\"", "", "")) : list;
+		// unterminated quote, text after the closing quote
+		assert fields(FieldGenerator.csv("\"ab,c")).equals(Arrays.asList("ab,c"));
+		assert fields(FieldGenerator.csv("\"ab\"c,d")).equals(Arrays.asList("abc", "d"));
+	}
+
+	@Test
+	public void testEscape() {
+		List<String> list = fields(new FieldGenerator("a\\;b;'c;d';e\\\\", ';', '\'', '\\'));
+		assert list.equals(Arrays.asList("a;b", "c;d", "e\\")) : list;
+	}
+
+	@Test
+	public void testOffsets() {
+		FieldGenerator fields = FieldGenerator.csv("ab,\"cd\",\"e\"\"f\"");
+		fields.next();
+		assert fields.start() == 0 && fields.end() == 2;
+		fields.next();
+		assert fields.start() == 4 && fields.end() == 6;
+		fields.next();
+		assert fields.start() == -1; // unescaped copy
+	}
+
+	@Test
+	public void testSources() {
+		char[] chars = "xx1,2,3xx".toCharArray();
+		assert fields(new FieldGenerator(chars, 2, 5, ',', '"', (char) 0)).equals(Arrays.asList("1", "2", "3"));
+		ByteBuffer bytes = ByteBuffer.wrap("10,-20,3.5".getBytes());
+		FieldGenerator fields = new FieldGenerator(bytes, ',', '"', (char) 0);
+		assert FieldGenerator.parseInt(fields.next()) == 10;
+		assert FieldGenerator.parseLong(fields.next()) == -20L;
+		assert FieldGenerator.parseDouble(fields.next()) == 3.5;
+	}
+
+	@Test
+	public void testReset() {
+		FieldGenerator fields = new FieldGenerator("a,b", ',');
+		assert fields(fields).size() == 2;
+		assert fields(fields.reset("c,d,e")).equals(Arrays.asList("c", "d", "e"));
+	}
+
+	@Test
+	public void testCompose() {
+		FieldGenerator fields = FieldGenerator.csv("abc,\"d,e\"");
+		assert string(iter(fields.next())).equals("abc");
+		assert string(iter(fields.next())).equals("d,e");
+	}
+
+	@Test
+	public void testParse() {
+		for (String s : new String[] { "0", "-0", "+7", "2147483647", "-2147483648", "9223372036854775807", "-9223372036854775808" })
+			assert FieldGenerator.parseLong(s) == Long.parseLong(s) : s;
+		assert FieldGenerator.parseInt("-2147483648") == Integer.MIN_VALUE;
+		for (String s : new String[] { "", "-", "2147483648", "1a", " 1" })
+			try {
+				FieldGenerator.parseInt(s);
+				assert false : s;
+			} catch (NumberFormatException e) {
+			}
+		for (String s : new String[] { "9223372036854775808", "-9223372036854775809", "99999999999999999999" })
+			try {
+				FieldGenerator.parseLong(s);
+				assert false : s;
+			} catch (NumberFormatException e) {
+			}
+		Random random = new Random(42);
+		for (int k = 0; k < 10000; k++) {
+			String s = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+			assert FieldGenerator.parseDouble(s) == Double.parseDouble(s) : s;
+			s = String.format("%." + random.nextInt(10) + "f", random.nextGaussian() * 1000);
+			assert FieldGenerator.parseDouble(s) == Double.parseDouble(s) : s;
+		}
+		for (String s : new String[] { "1e5", "-1.5E-3", ".5", "5.", "NaN", "-Infinity", "0.1", "123456789012345678" })
+			assert Double.compare(FieldGenerator.parseDouble(s), Double.parseDouble(s)) == 0 : s;
+		try {
+			FieldGenerator.parseDouble("1e");
+			assert false;
+		} catch (NumberFormatException e) {
+		}
+	}
+
+}
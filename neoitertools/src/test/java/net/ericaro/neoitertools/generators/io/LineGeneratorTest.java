@@ -0,0 +1,89 @@
+package net.ericaro.neoitertools.generators.io;
+
+import static net.ericaro.neoitertools.Itertools.iter;
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LineGeneratorTest {
+
+	static final Charset UTF8 = Charset.forName("UTF-8");
+	static final Charset LATIN1 = Charset.forName("ISO-8859-1");
+
+	static Path write(String content, Charset charset) throws IOException {
+		Path path = Files.createTempFile("lines", ".txt");
+		path.toFile().deleteOnExit();
+		Files.write(path, content.getBytes(charset));
+		return path;
+	}
+
+	static List<String> read(LineGenerator lines) {
+		List<String> list = new ArrayList<String>();
+		try {
+			while (true)
+				list.add(lines.next().toString());
+		} catch (NoSuchElementException e) {
+		}
+		return list;
+	}
+
+	@Test
+	public void testLines() throws IOException {
+		Path path = write("first\r\n\nthird line, été\nlast", UTF8);
+		List<String> list = read(new LineGenerator(path, UTF8));
+		assert list.equals(Arrays.asList("first", "", "third line, été", "last")) : list;
+	}
+
+	@Test
+	public void testTerminated() throws IOException {
+		assert read(new LineGenerator(write("a\nb\n", UTF8), UTF8)).equals(Arrays.asList("a", "b"));
+		assert read(new LineGenerator(write("", UTF8), UTF8)).isEmpty();
+		assert read(new LineGenerator(write("\n", UTF8), UTF8)).equals(Arrays.asList(""));
+	}
+
+	@Test
+	public void testRegions() throws IOException {
+		// lines of any length, on small regions: lines cross regions and are longer than them
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < 500; i++) {
+			StringBuilder line = new StringBuilder();
+			int n = random.nextInt(i % 10 == 0 ? 200 : 20);
+			for (int k = 0; k < n; k++)
+				line.append(random.nextInt(10) == 0 ? 'é' : (char) ('a' + random.nextInt(26)));
+			expected.add(line.toString());
+			sb.append(line).append('\n');
+		}
+		Path path = write(sb.toString(), UTF8);
+		for (int region : new int[] { 16, 17, 100, 4096 })
+			assert read(new LineGenerator(path, UTF8, region)).equals(expected) : "region " + region;
+		assert read(new LineGenerator(write(sb.toString(), LATIN1), LATIN1, 16)).equals(expected);
+	}
+
+	@Test
+	public void testView() throws IOException {
+		LineGenerator lines = new LineGenerator(write("abc\ndé\n", UTF8), UTF8);
+		CharSequence line = lines.next();
+		assert line.length() == 3 && line.charAt(2) == 'c';
+		assert list(iter(line)).equals(Arrays.asList('a', 'b', 'c'));
+		assert line.subSequence(1, 3).toString().equals("bc");
+		assert lines.next().toString().equals("dé");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupportedCharset() throws IOException {
+		new LineGenerator(write("", UTF8), Charset.forName("UTF-16"));
+	}
+
+}
@@ -0,0 +1,60 @@
+package net.ericaro.neoitertools.generators.io;
+
+import static net.ericaro.neoitertools.Itertools.iter;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LineWriterTest {
+
+	static Path temp() throws IOException {
+		Path path = Files.createTempFile("lines", ".txt");
+		path.toFile().deleteOnExit();
+		return path;
+	}
+
+	static List<String> lines(int n) {
+		Random random = new Random(42);
+		List<String> lines = new ArrayList<String>();
+		for (int i = 0; i < n; i++) {
+			StringBuilder sb = new StringBuilder();
+			for (int k = random.nextInt(i % 10 == 0 ? 300 : 30); k > 0; k--)
+				sb.append(random.nextInt(8) == 0 ? '€' : (char) ('a' + random.nextInt(26)));
+			lines.add(sb.toString());
+		}
+		return lines;
+	}
+
+	@Test
+	public void testWrite() throws IOException {
+		List<String> lines = lines(1000);
+		for (String name : new String[] { "UTF-8", "ISO-8859-15", "UTF-16BE" }) {
+			Charset charset = Charset.forName(name);
+			for (SyncPolicy sync : SyncPolicy.values()) {
+				Path path = temp();
+				LineWriter writer = new LineWriter(path, charset, 64, sync);
+				assert writer.writeAll(iter(lines)) == 1000;
+				writer.close();
+				assert Files.readAllLines(path, charset).equals(lines) : name + " " + sync;
+				assert writer.written() == Files.size(path);
+			}
+		}
+	}
+
+	@Test
+	public void testUnmappable() throws IOException {
+		Path path = temp();
+		LineWriter writer = new LineWriter(path, Charset.forName("US-ASCII"));
+		writer.write("a€b");
+		writer.close();
+		assert Files.readAllLines(path, Charset.forName("US-ASCII")).get(0).equals("a?b");
+	}
+
+}
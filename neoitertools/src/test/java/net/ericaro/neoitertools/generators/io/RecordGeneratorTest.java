@@ -0,0 +1,132 @@
+package net.ericaro.neoitertools.generators.io;
+
+import static net.ericaro.neoitertools.Itertools.in;
+import static net.ericaro.neoitertools.Itertools.list;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+public class RecordGeneratorTest {
+
+	// records of 16 bytes: an int id, a long value and an int flag
+	static final int SIZE = 16;
+
+	static Path write(ByteBuffer buffer) throws IOException {
+		Path path = Files.createTempFile("records", ".bin");
+		path.toFile().deleteOnExit();
+		Files.write(path, buffer.array());
+		return path;
+	}
+
+	static Path fixed(int n, int trailing) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(n * SIZE + trailing);
+		for (int i = 0; i < n; i++)
+			buffer.putInt(i).putLong(i * 1000L).putInt(i % 2);
+		return write(buffer);
+	}
+
+	@Test
+	public void testFixed() throws IOException {
+		RecordGenerator records = new RecordGenerator(fixed(100, 5), SIZE);
+		for (int i = 0; i < 100; i++) {
+			ByteBuffer r = records.next();
+			assert r.remaining() == SIZE;
+			assert r.getInt() == i;
+			assert r.getLong() == i * 1000L;
+			assert r.getInt(r.position()) == i % 2;
+		}
+		try {
+			records.next();
+			assert false : "the trailing bytes are not a record";
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void testRegions() throws IOException {
+		Path path = fixed(100, 0);
+		for (int region : new int[] { 1, 16, 40, 1000 }) {
+			RecordGenerator records = new RecordGenerator(path, SIZE, ByteOrder.BIG_ENDIAN, 0, Long.MAX_VALUE, region);
+			for (int i = 0; i < 100; i++)
+				assert records.next().getInt() == i;
+		}
+	}
+
+	@Test
+	public void testSkip() throws IOException {
+		RecordGenerator records = new RecordGenerator(fixed(100, 0), SIZE);
+		records.skip(42);
+		assert records.next().getInt() == 42;
+		records.skip(1000);
+		try {
+			records.next();
+			assert false;
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void testSplit() throws IOException {
+		Path path = fixed(1001, 3);
+		List<RecordGenerator> parts = RecordGenerator.split(path, SIZE, ByteOrder.BIG_ENDIAN, 4);
+		int expected = 0;
+		for (RecordGenerator part : parts) {
+			int n = 0;
+			for (ByteBuffer r : in(part)) {
+				assert r.getInt() == expected++;
+				n++;
+			}
+			assert n == 250 || n == 251 : n;
+		}
+		assert expected == 1001;
+		// byte ranges that are not aligned: records belong to the range they start in
+		assert list(new RecordGenerator(path, SIZE, ByteOrder.BIG_ENDIAN, 1, 33)).size() == 2; // 16 and 32
+		assert list(new RecordGenerator(path, SIZE, ByteOrder.BIG_ENDIAN, 0, 33)).size() == 3;
+	}
+
+	@Test
+	public void testColumns() throws IOException {
+		RecordGenerator records = new RecordGenerator(fixed(100, 0), SIZE);
+		records.skip(10);
+		IntColumnGenerator ids = records.ints(0);
+		LongColumnGenerator values = records.longs(4);
+		long[] buffer = new long[200];
+		assert values.drain(buffer, 0, 200) == 90;
+		for (int i = 0; i < 90; i++) {
+			assert ids.nextInt() == i + 10;
+			assert buffer[i] == (i + 10) * 1000L;
+		}
+	}
+
+	@Test
+	public void testLengthPrefixed() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(1000).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < 20; i++) {
+			buffer.putInt(i);
+			for (int k = 0; k < i; k++)
+				buffer.put((byte) i);
+		}
+		byte[] bytes = new byte[buffer.position()];
+		System.arraycopy(buffer.array(), 0, bytes, 0, bytes.length);
+		RecordGenerator records = RecordGenerator.lengthPrefixed(write(ByteBuffer.wrap(bytes)), ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < 20; i++) {
+			ByteBuffer r = records.next();
+			assert r.remaining() == i;
+			while (r.hasRemaining())
+				assert r.get() == i;
+		}
+		try {
+			records.next();
+			assert false;
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+}
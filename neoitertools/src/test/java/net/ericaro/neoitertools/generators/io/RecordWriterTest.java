@@ -0,0 +1,76 @@
+package net.ericaro.neoitertools.generators.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class RecordWriterTest {
+
+	static Path temp() throws IOException {
+		Path path = Files.createTempFile("records", ".bin");
+		path.toFile().deleteOnExit();
+		return path;
+	}
+
+	@Test
+	public void testFixed() throws IOException {
+		Path path = temp();
+		RecordWriter writer = new RecordWriter(path, false, ByteOrder.BIG_ENDIAN, 64, SyncPolicy.ON_FLUSH);
+		ByteBuffer record = ByteBuffer.allocate(12);
+		for (int i = 0; i < 100; i++) {
+			record.clear();
+			record.putInt(i).putLong(-i).flip();
+			writer.write(record);
+			assert record.remaining() == 12; // left unchanged
+		}
+		writer.close();
+		assert Files.size(path) == 1200;
+		RecordGenerator records = new RecordGenerator(path, 12);
+		for (int i = 0; i < 100; i++) {
+			ByteBuffer r = records.next();
+			assert r.getInt() == i && r.getLong() == -i;
+		}
+	}
+
+	@Test
+	public void testLengthPrefixed() throws IOException {
+		// records of any size, some larger than the buffers: they are written without copy
+		Path path = temp();
+		RecordWriter writer = new RecordWriter(path, true, ByteOrder.LITTLE_ENDIAN, 64, SyncPolicy.NONE);
+		for (int i = 0; i < 100; i++) {
+			byte[] bytes = new byte[i];
+			for (int k = 0; k < i; k++)
+				bytes[k] = (byte) i;
+			writer.write(ByteBuffer.wrap(bytes));
+		}
+		writer.close();
+		RecordGenerator records = RecordGenerator.lengthPrefixed(path, ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < 100; i++) {
+			ByteBuffer r = records.next();
+			assert r.remaining() == i;
+			while (r.hasRemaining())
+				assert r.get() == i;
+		}
+	}
+
+	@Test
+	public void testCopy() throws IOException {
+		// records read from a file are written to another one
+		Path source = temp();
+		RecordWriter writer = new RecordWriter(source);
+		for (int i = 0; i < 1000; i++)
+			writer.write((ByteBuffer) ByteBuffer.allocate(8).putLong(i).flip());
+		writer.close();
+		Path target = temp();
+		writer = new RecordWriter(target);
+		assert writer.writeAll(new RecordGenerator(source, 8)) == 1000;
+		writer.close();
+		assert Arrays.equals(Files.readAllBytes(source), Files.readAllBytes(target));
+	}
+
+}
@@ -0,0 +1,34 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.generators.RangeGenerator;
+
+import org.junit.Test;
+
+public class IntBatchGeneratorTest {
+
+	@Test
+	public void testIntBatchGenerator() {
+		IntBatchGenerator g = new IntBatchGenerator(new IntegerGenerator(new int[] { 1, 2, 3, 4, 5 }), 2);
+		int[] first = g.next();
+		assert Arrays.equals(new int[] { 1, 2 }, first);
+		assert g.next() == first : "full batches must reuse the array";
+		assert Arrays.equals(new int[] { 3, 4 }, first);
+		assert Arrays.equals(new int[] { 5 }, g.next());
+		try {
+			g.next();
+			assert false : "batches must stop with the source";
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void testRange() {
+		IntBatchGenerator g = new IntBatchGenerator(new RangeGenerator(0, 10, 3), 3);
+		assert Arrays.equals(new int[] { 0, 3, 6 }, g.next());
+		assert Arrays.equals(new int[] { 9 }, g.next());
+	}
+
+}
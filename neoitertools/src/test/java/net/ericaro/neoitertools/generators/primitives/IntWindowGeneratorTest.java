@@ -0,0 +1,36 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.generators.RangeGenerator;
+
+import org.junit.Test;
+
+public class IntWindowGeneratorTest {
+
+	@Test
+	public void testIntWindowGenerator() {
+		IntWindowGenerator g = new IntWindowGenerator(new RangeGenerator(10), 3, 4);
+		IntWindow window = g.next();
+		assert Arrays.equals(new int[] { 0, 1, 2 }, window.toArray());
+		assert g.next() == window;
+		assert Arrays.equals(new int[] { 4, 5, 6 }, window.toArray());
+		assert window.get(2) == 6;
+		try {
+			g.next(); // 8, 9 are not a full window
+			assert false;
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void testOverlap() {
+		IntWindowGenerator g = new IntWindowGenerator(new IntegerGenerator(new int[] { 1, 2, 3, 4 }), 3, 1);
+		g.next();
+		IntWindow window = g.next();
+		assert Arrays.equals(new int[] { 2, 3, 4 }, window.toArray());
+		assert window.get(0) == 2;
+	}
+
+}
@@ -0,0 +1,28 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import net.ericaro.neoitertools.generators.RangeGenerator;
+
+import org.junit.Test;
+
+public class IntZipTest {
+
+	@Test
+	public void testIntZip() {
+		IntZip zip = new IntZip(new IntegerGenerator(new int[] { 1, 2, 3 }), new RangeGenerator(10, 20));
+		int[] row = new int[zip.width()];
+		zip.next(row);
+		assert Arrays.equals(new int[] { 1, 10 }, row);
+		int[][] rows = new int[4][2];
+		assert zip.next(rows) == 2;
+		assert Arrays.equals(new int[] { 3, 12 }, rows[1]);
+		try {
+			zip.next(row);
+			assert false : "zip must stop with the shortest column";
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+}
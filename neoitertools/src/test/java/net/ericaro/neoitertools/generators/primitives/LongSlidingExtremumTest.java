@@ -0,0 +1,30 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LongSlidingExtremumTest {
+
+	@Test
+	public void testLongSlidingExtremum() {
+		Random random = new Random(42);
+		long[] values = new long[1000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = random.nextInt(50); // plenty of ties
+		for (int size : new int[] { 1, 2, 7, 100, 1000 }) {
+			LongSlidingExtremum mins = new LongSlidingExtremum(new LongGenerator(values), size, false);
+			LongSlidingExtremum maxs = new LongSlidingExtremum(new LongGenerator(values), size, true);
+			for (int i = 0; i + size <= values.length; i++) {
+				long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+				for (int j = i; j < i + size; j++) {
+					min = Math.min(min, values[j]);
+					max = Math.max(max, values[j]);
+				}
+				assert mins.nextLong() == min : "min of window " + i + " of size " + size;
+				assert maxs.nextLong() == max : "max of window " + i + " of size " + size;
+			}
+		}
+	}
+
+}
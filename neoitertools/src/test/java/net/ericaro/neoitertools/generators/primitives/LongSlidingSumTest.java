@@ -0,0 +1,27 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LongSlidingSumTest {
+
+	@Test
+	public void testLongSlidingSum() {
+		Random random = new Random(42);
+		long[] values = new long[1000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = random.nextInt(2000) - 1000;
+		for (int size : new int[] { 1, 2, 7, 100, 1000 }) {
+			LongSlidingSum sums = new LongSlidingSum(new LongGenerator(values), size);
+			for (int i = 0; i + size <= values.length; i++) {
+				long sum = 0;
+				for (int j = i; j < i + size; j++)
+					sum += values[j];
+				assert sums.nextLong() == sum : "window " + i + " of size " + size;
+			}
+			assert sums.drain(new long[1], 0, 1) == 0 : "there must be no more window";
+		}
+	}
+
+}
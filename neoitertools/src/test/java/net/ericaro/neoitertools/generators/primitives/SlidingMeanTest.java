@@ -0,0 +1,28 @@
+package net.ericaro.neoitertools.generators.primitives;
+
+import org.junit.Test;
+
+public class SlidingMeanTest {
+
+	@Test
+	public void testSlidingMean() {
+		SlidingMean means = new SlidingMean(new LongSlidingSum(new LongGenerator(new long[] { 1, 2, 3, 4 }), 2));
+		assert means.nextDouble() == 1.5d;
+		assert means.nextDouble() == 2.5d;
+		assert means.nextDouble() == 3.5d;
+	}
+
+	@Test
+	public void testDouble() {
+		// a huge value in the window must not leave rounding errors once it has slid out
+		double[] values = new double[1000];
+		for (int i = 0; i < values.length; i++)
+			values[i] = i == 10 ? 1e15 : 0.1;
+		SlidingMean means = new SlidingMean(new DoubleSlidingSum(new DoubleGenerator(values), 4));
+		double[] result = new double[values.length];
+		int n = means.drain(result, 0, result.length);
+		assert n == values.length - 3;
+		assert Math.abs(result[n - 1] - 0.1) < 1e-12 : result[n - 1];
+	}
+
+}